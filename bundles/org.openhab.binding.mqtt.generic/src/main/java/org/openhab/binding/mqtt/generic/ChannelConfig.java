@@ -38,8 +38,20 @@ public class ChannelConfig {
      * Instead a postCommand() call is performed.
      */
     public boolean postCommand = false;
+    /**
+     * If true, the channel state is not updated if a new message results in the same state. Does not apply if
+     * {@link #postCommand} is set.
+     */
+    public boolean suppressIdenticalStates = false;
     public @Nullable Integer qos;
     public boolean retained = false;
+    /**
+     * Minimum time in milliseconds between two publishes to the command topic. Only the last command within this
+     * interval is published, at its end. 0 publishes every command immediately.
+     */
+    public int publishInterval = 0;
+    /** If true, the {@link #publishInterval} starts over with every command. */
+    public boolean publishDebounce = false;
     /** If true, the state topic will not update a state, but trigger a channel instead. */
     public boolean trigger = false;
     public String unit = "";
@@ -64,6 +64,12 @@ public class ChannelConfigBuilder {
         return this;
     }
 
+    public ChannelConfigBuilder withPublishInterval(int publishInterval, boolean debounce) {
+        config.publishInterval = publishInterval;
+        config.publishDebounce = debounce;
+        return this;
+    }
+
     public ChannelConfigBuilder withQos(@Nullable Integer qos) {
         config.qos = qos;
         return this;
@@ -20,10 +20,12 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Stream;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.mqtt.generic.tools.DelayedBatchProcessing;
 import org.openhab.binding.mqtt.generic.values.TextValue;
 import org.openhab.binding.mqtt.generic.values.Value;
 import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
@@ -63,6 +65,13 @@ public class ChannelState implements MqttMessageSubscriber {
     private @Nullable ScheduledFuture<?> scheduledFuture;
     private CompletableFuture<@Nullable Void> future = CompletableFuture.completedFuture(null);
     private final Object futureLock = new Object();
+    // Commands waiting to be published, if a publish interval is configured
+    private @Nullable DelayedBatchProcessing<PendingPublish> delayedPublish;
+    private final AtomicLong coalescedCommands = new AtomicLong();
+    private final AtomicLong droppedCommands = new AtomicLong();
+
+    private record PendingPublish(byte[] payload, int qos, CompletableFuture<Boolean> future) {
+    }
 
     /**
      * Creates a new channel state.
@@ -170,32 +179,42 @@ public class ChannelState implements MqttMessageSubscriber {
             return;
         }
 
-        // String value: Apply transformations
-        String strValue = new String(payload, StandardCharsets.UTF_8);
-        for (ChannelStateTransformation t : transformationsIn) {
-            String transformedValue = t.processValue(strValue);
-            if (transformedValue != null) {
-                strValue = transformedValue;
-            } else {
-                logger.debug("Transformation '{}' returned null on '{}', discarding message", strValue, t.serviceName);
+        @Nullable
+        Command command = null;
+        if (transformationsIn.isEmpty() && !config.trigger) {
+            // Plain payload: Let the value parse the common payloads directly from the bytes
+            command = cachedValue.parsePayload(payload);
+        }
+
+        if (command == null) {
+            // String value: Apply transformations
+            String strValue = new String(payload, StandardCharsets.UTF_8);
+            for (ChannelStateTransformation t : transformationsIn) {
+                String transformedValue = t.processValue(strValue);
+                if (transformedValue != null) {
+                    strValue = transformedValue;
+                } else {
+                    logger.debug("Transformation '{}' returned null on '{}', discarding message", strValue,
+                            t.serviceName);
+                    receivedOrTimeout();
+                    return;
+                }
+            }
+
+            // Is trigger?: Special handling
+            if (config.trigger) {
+                channelStateUpdateListener.triggerChannel(channelUID, strValue);
                 receivedOrTimeout();
                 return;
             }
-        }
-
-        // Is trigger?: Special handling
-        if (config.trigger) {
-            channelStateUpdateListener.triggerChannel(channelUID, strValue);
-            receivedOrTimeout();
-            return;
-        }
 
-        Command command = TypeParser.parseCommand(cachedValue.getSupportedCommandTypes(), strValue);
-        if (command == null) {
-            logger.warn("Incoming payload '{}' on '{}' not supported by type '{}'", strValue, topic,
-                    cachedValue.getClass().getSimpleName());
-            receivedOrTimeout();
-            return;
+            command = TypeParser.parseCommand(cachedValue.getSupportedCommandTypes(), strValue);
+            if (command == null) {
+                logger.warn("Incoming payload '{}' on '{}' not supported by type '{}'", strValue, topic,
+                        cachedValue.getClass().getSimpleName());
+                receivedOrTimeout();
+                return;
+            }
         }
 
         Command parsedCommand;
@@ -203,7 +222,7 @@ public class ChannelState implements MqttMessageSubscriber {
         try {
             parsedCommand = cachedValue.parseMessage(command);
         } catch (IllegalArgumentException | IllegalStateException e) {
-            logger.warn("Command '{}' from channel '{}' not supported by type '{}': {}", strValue, channelUID,
+            logger.warn("Command '{}' from channel '{}' not supported by type '{}': {}", command, channelUID,
                     cachedValue.getClass().getSimpleName(), e.getMessage());
             receivedOrTimeout();
             return;
@@ -215,10 +234,13 @@ public class ChannelState implements MqttMessageSubscriber {
             receivedOrTimeout();
             return;
         }
+        State oldState = cachedValue.getChannelState();
         cachedValue.update((State) parsedCommand);
 
         if (config.postCommand) {
             channelStateUpdateListener.postChannelCommand(channelUID, (Command) cachedValue.getChannelState());
+        } else if (config.suppressIdenticalStates && cachedValue.getChannelState().equals(oldState)) {
+            logger.trace("Incoming payload on '{}' does not change the state of channel '{}'", topic, channelUID);
         } else {
             channelStateUpdateListener.updateChannelState(channelUID, cachedValue.getChannelState());
         }
@@ -271,6 +293,14 @@ public class ChannelState implements MqttMessageSubscriber {
 
     private void internalStop() {
         logger.debug("Unsubscribed channel {} from topic: {}", this.channelUID, config.stateTopic);
+        final DelayedBatchProcessing<PendingPublish> delayedPublish = this.delayedPublish;
+        if (delayedPublish != null) {
+            List<PendingPublish> dropped = delayedPublish.join();
+            droppedCommands.addAndGet(dropped.size());
+            dropped.forEach(p -> p.future().complete(false));
+            logger.debug("Channel {} coalesced {} and dropped {} commands to topic {}", channelUID,
+                    coalescedCommands.get(), droppedCommands.get(), config.commandTopic);
+        }
         this.connection = null;
         this.channelStateUpdateListener = null;
         hasSubscribed = false;
@@ -316,6 +346,11 @@ public class ChannelState implements MqttMessageSubscriber {
 
             this.connection = connection;
 
+            if (config.publishInterval > 0 && !readOnly && delayedPublish == null) {
+                delayedPublish = new DelayedBatchProcessing<>(config.publishInterval, !config.publishDebounce,
+                        this::publishLast, scheduler);
+            }
+
             if (config.stateTopic.isBlank()) {
                 return CompletableFuture.completedFuture(null);
             }
@@ -348,7 +383,8 @@ public class ChannelState implements MqttMessageSubscriber {
      *
      * @param command The command to send
      * @return A future that completes with true if the publishing worked and false if it is a readonly topic
-     *         and exceptionally otherwise.
+     *         or the command was replaced by a later command within the publish interval, and exceptionally
+     *         otherwise.
      */
     public CompletableFuture<Boolean> publishValue(Command command) {
         final MqttBrokerConnection connection = this.connection;
@@ -400,9 +436,60 @@ public class ChannelState implements MqttMessageSubscriber {
 
         int qos = (config.qos != null) ? config.qos : connection.getQos();
 
+        final DelayedBatchProcessing<PendingPublish> delayedPublish = this.delayedPublish;
+        if (delayedPublish != null) {
+            PendingPublish publish = new PendingPublish(commandString.getBytes(), qos, new CompletableFuture<>());
+            delayedPublish.accept(publish);
+            return publish.future();
+        }
+
         return connection.publish(config.commandTopic, commandString.getBytes(), qos, config.retained);
     }
 
+    /**
+     * Publishes the last of the commands that have been collected within the publish interval. The futures of the
+     * other commands complete with false.
+     */
+    private void publishLast(List<PendingPublish> publishes) {
+        int coalesced = publishes.size() - 1;
+        if (coalesced > 0) {
+            coalescedCommands.addAndGet(coalesced);
+            logger.trace("Coalesced {} commands to topic {}", coalesced, config.commandTopic);
+            publishes.subList(0, coalesced).forEach(p -> p.future().complete(false));
+        }
+        PendingPublish publish = publishes.get(coalesced);
+        final MqttBrokerConnection connection = this.connection;
+        if (connection == null) {
+            droppedCommands.incrementAndGet();
+            publish.future().completeExceptionally(new IllegalStateException(
+                    "The connection object has not been set. start() should have been called!"));
+            return;
+        }
+        connection.publish(config.commandTopic, publish.payload(), publish.qos(), config.retained)
+                .whenComplete((result, e) -> {
+                    if (e != null) {
+                        publish.future().completeExceptionally(e);
+                    } else {
+                        publish.future().complete(result);
+                    }
+                });
+    }
+
+    /**
+     * @return The number of commands that were not published, because a later command replaced them within the
+     *         publish interval.
+     */
+    public long getCoalescedCommands() {
+        return coalescedCommands.get();
+    }
+
+    /**
+     * @return The number of commands that were not published, because the channel was stopped before.
+     */
+    public long getDroppedCommands() {
+        return droppedCommands.get();
+    }
+
     /**
      * @return The channelStateUpdateListener
      */
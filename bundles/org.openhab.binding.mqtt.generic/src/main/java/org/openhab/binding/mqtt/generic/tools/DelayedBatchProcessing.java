@@ -27,6 +27,10 @@ import org.eclipse.jdt.annotation.Nullable;
 /**
  * Collects objects over time until a specified delay passed by.
  * Then call the user back with a list of accumulated objects and start over again.
+ * <p>
+ * By default, the delay starts over with every new object, so the objects are delivered once no new object has been
+ * received for the delay. With a fixed delay, the objects are delivered at the latest the delay after the first
+ * object, even if new objects keep coming in.
  *
  * @author David Graeff - Initial contribution
  *
@@ -35,10 +39,13 @@ import org.eclipse.jdt.annotation.Nullable;
 @NonNullByDefault
 public class DelayedBatchProcessing<T> implements Consumer<T> {
     private final int delay;
+    private final boolean fixedDelay;
     private final Consumer<List<T>> consumer;
     private final List<T> queue = Collections.synchronizedList(new ArrayList<>());
     private final ScheduledExecutorService executor;
     protected final AtomicReference<@Nullable ScheduledFuture<?>> futureRef = new AtomicReference<>();
+    // only used with a fixed delay, guarded by queue
+    private boolean scheduled = false;
 
     /**
      * Creates a {@link DelayedBatchProcessing}.
@@ -48,7 +55,21 @@ public class DelayedBatchProcessing<T> implements Consumer<T> {
      * @param executor A scheduled executor service
      */
     public DelayedBatchProcessing(int delay, Consumer<List<T>> consumer, ScheduledExecutorService executor) {
+        this(delay, false, consumer, executor);
+    }
+
+    /**
+     * Creates a {@link DelayedBatchProcessing}.
+     *
+     * @param delay A delay in milliseconds
+     * @param fixedDelay If true, the delay is not restarted by new objects
+     * @param consumer A consumer of the list of collected objects
+     * @param executor A scheduled executor service
+     */
+    public DelayedBatchProcessing(int delay, boolean fixedDelay, Consumer<List<T>> consumer,
+            ScheduledExecutorService executor) {
         this.delay = delay;
+        this.fixedDelay = fixedDelay;
         this.consumer = consumer;
         this.executor = executor;
         if (delay <= 0) {
@@ -58,12 +79,22 @@ public class DelayedBatchProcessing<T> implements Consumer<T> {
 
     /**
      * Add new object to the batch process list. Every time a new object is received,
-     * the delay timer is rescheduled.
+     * the delay timer is rescheduled, unless the delay is fixed.
      *
      * @param t An object
      */
     @Override
     public void accept(T t) {
+        if (fixedDelay) {
+            synchronized (queue) {
+                queue.add(t);
+                if (!scheduled) {
+                    scheduled = true;
+                    futureRef.set(executor.schedule(this::run, delay, TimeUnit.MILLISECONDS));
+                }
+            }
+            return;
+        }
         queue.add(t);
         cancel(futureRef.getAndSet(executor.schedule(this::run, delay, TimeUnit.MILLISECONDS)));
     }
@@ -79,6 +110,7 @@ public class DelayedBatchProcessing<T> implements Consumer<T> {
         synchronized (queue) {
             lqueue.addAll(queue);
             queue.clear();
+            scheduled = false;
         }
         return lqueue;
     }
@@ -104,6 +136,7 @@ public class DelayedBatchProcessing<T> implements Consumer<T> {
         synchronized (queue) {
             lqueue.addAll(queue);
             queue.clear();
+            scheduled = false;
         }
 
         if (!lqueue.isEmpty()) {
@@ -112,6 +112,13 @@ public class NumberValue extends Value {
         }
     }
 
+    @Override
+    public @Nullable Command parsePayload(byte[] payload) {
+        // The TypeParser would return a dimensionless QuantityType, which parseCommand treats like a DecimalType
+        BigDecimal value = parsePlainDecimal(payload);
+        return value == null ? null : new DecimalType(value);
+    }
+
     private BigDecimal getOldValue() {
         BigDecimal val = BigDecimal.ZERO;
         if (state instanceof DecimalType decimalCommand) {
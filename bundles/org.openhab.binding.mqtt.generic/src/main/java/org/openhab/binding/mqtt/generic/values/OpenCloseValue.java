@@ -12,6 +12,8 @@
  */
 package org.openhab.binding.mqtt.generic.values;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.List;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -28,8 +30,13 @@ import org.openhab.core.types.Command;
  */
 @NonNullByDefault
 public class OpenCloseValue extends Value {
+    private static final byte[] OPEN_BYTES = OpenClosedType.OPEN.name().getBytes(StandardCharsets.UTF_8);
+    private static final byte[] CLOSED_BYTES = OpenClosedType.CLOSED.name().getBytes(StandardCharsets.UTF_8);
+
     private final String openString;
     private final String closeString;
+    private final byte[] openBytes;
+    private final byte[] closeBytes;
 
     /**
      * Creates a contact Open/Close type.
@@ -38,6 +45,8 @@ public class OpenCloseValue extends Value {
         super(CoreItemFactory.CONTACT, List.of(OpenClosedType.class, StringType.class));
         this.openString = OpenClosedType.OPEN.name();
         this.closeString = OpenClosedType.CLOSED.name();
+        this.openBytes = OPEN_BYTES;
+        this.closeBytes = CLOSED_BYTES;
     }
 
     /**
@@ -50,6 +59,8 @@ public class OpenCloseValue extends Value {
         super(CoreItemFactory.CONTACT, List.of(OpenClosedType.class, StringType.class));
         this.openString = openValue == null ? OpenClosedType.OPEN.name() : openValue;
         this.closeString = closeValue == null ? OpenClosedType.CLOSED.name() : closeValue;
+        this.openBytes = this.openString.getBytes(StandardCharsets.UTF_8);
+        this.closeBytes = this.closeString.getBytes(StandardCharsets.UTF_8);
     }
 
     @Override
@@ -68,6 +79,22 @@ public class OpenCloseValue extends Value {
         }
     }
 
+    @Override
+    public @Nullable Command parsePayload(byte[] payload) {
+        // Same order as the TypeParser and parseCommand: "OPEN" and "CLOSED" take precedence over the open/close
+        // strings
+        if (Arrays.equals(payload, OPEN_BYTES)) {
+            return OpenClosedType.OPEN;
+        } else if (Arrays.equals(payload, CLOSED_BYTES)) {
+            return OpenClosedType.CLOSED;
+        } else if (Arrays.equals(payload, openBytes)) {
+            return OpenClosedType.OPEN;
+        } else if (Arrays.equals(payload, closeBytes)) {
+            return OpenClosedType.CLOSED;
+        }
+        return null;
+    }
+
     @Override
     public String getMQTTpublishValue(Command command, @Nullable String pattern) {
         String formatPattern = pattern;
@@ -133,6 +133,12 @@ public class PercentageValue extends Value {
         }
     }
 
+    @Override
+    public @Nullable Command parsePayload(byte[] payload) {
+        BigDecimal value = parsePlainDecimal(payload);
+        return value == null ? null : new DecimalType(value);
+    }
+
     @Override
     public String getMQTTpublishValue(Command command, @Nullable String pattern) {
         // Formula: From percentage to custom min/max: value*span/100+min
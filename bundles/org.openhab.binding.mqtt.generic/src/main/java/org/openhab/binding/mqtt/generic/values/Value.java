@@ -14,6 +14,7 @@ package org.openhab.binding.mqtt.generic.values;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.math.BigDecimal;
 import java.net.URLConnection;
 import java.util.List;
 
@@ -149,6 +150,51 @@ public abstract class Value {
         return parseCommand(command);
     }
 
+    /**
+     * Parses a raw MQTT payload into a command, without decoding it and trying all supported command types with the
+     * {@link org.openhab.core.types.TypeParser}. Value types can implement this for the common payloads, like plain
+     * numbers or their on/off strings.
+     *
+     * @param payload The UTF-8 encoded payload.
+     * @return A command that {@link #parseMessage(Command)} handles like the command the TypeParser returns for the
+     *         decoded payload, or null if the payload needs to be parsed by the TypeParser.
+     */
+    public @Nullable Command parsePayload(byte[] payload) {
+        return null;
+    }
+
+    /**
+     * Parses a plain decimal number like "-12.50" from a UTF-8 encoded payload.
+     *
+     * @param payload The UTF-8 encoded payload.
+     * @return The number, or null if the payload is not a plain decimal number of at most 18 digits.
+     */
+    protected static @Nullable BigDecimal parsePlainDecimal(byte[] payload) {
+        int length = payload.length;
+        boolean negative = length > 0 && payload[0] == '-';
+        int start = negative ? 1 : 0;
+        long unscaled = 0;
+        int digits = 0;
+        int dot = -1;
+        for (int i = start; i < length; i++) {
+            byte b = payload[i];
+            if (b >= '0' && b <= '9') {
+                if (++digits > 18) {
+                    return null;
+                }
+                unscaled = unscaled * 10 + (b - '0');
+            } else if (b == '.' && dot < 0 && i > start && i < length - 1) {
+                dot = i;
+            } else {
+                return null;
+            }
+        }
+        if (digits == 0) {
+            return null;
+        }
+        return BigDecimal.valueOf(negative ? -unscaled : unscaled, dot < 0 ? 0 : length - 1 - dot);
+    }
+
     /**
      * Updates the internal value state with the given binary payload.
      *
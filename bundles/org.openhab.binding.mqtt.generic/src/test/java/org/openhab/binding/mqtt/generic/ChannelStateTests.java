@@ -134,6 +134,33 @@ public class ChannelStateTests {
         verify(connectionMock).unsubscribe(eq("state"), eq(c));
     }
 
+    @Test
+    public void publishIntervalTest() throws Exception {
+        ChannelState c = spy(new ChannelState(
+                ChannelConfigBuilder.create("state", "command").withPublishInterval(200, false).build(),
+                channelUIDMock, textValue, channelStateUpdateListenerMock));
+        c.start(connectionMock, scheduler, 0).get(50, TimeUnit.MILLISECONDS);
+
+        CompletableFuture<Boolean> first = c.publishValue(new StringType("1"));
+        CompletableFuture<Boolean> second = c.publishValue(new StringType("2"));
+        CompletableFuture<Boolean> last = c.publishValue(new StringType("3"));
+        verify(connectionMock, never()).publish(any(), any(), anyInt(), anyBoolean());
+
+        assertThat(last.get(1000, TimeUnit.MILLISECONDS), is(true));
+        assertThat(first.get(), is(false));
+        assertThat(second.get(), is(false));
+        verify(connectionMock).publish(eq("command"), argThat(p -> Arrays.equals(p, "3".getBytes())), anyInt(),
+                eq(false));
+        assertThat(c.getCoalescedCommands(), is(2L));
+
+        // A command that has not been published yet is dropped when the channel stops
+        CompletableFuture<Boolean> dropped = c.publishValue(new StringType("4"));
+        c.stop().get();
+        assertThat(dropped.get(), is(false));
+        assertThat(c.getDroppedCommands(), is(1L));
+        verify(connectionMock, times(1)).publish(any(), any(), anyInt(), anyBoolean());
+    }
+
     @Test
     public void receiveWildcardTest() throws Exception {
         ChannelState c = spy(new ChannelState(ChannelConfigBuilder.create("state/+/topic", "command").build(),
@@ -177,6 +204,25 @@ public class ChannelStateTests {
         verify(channelStateUpdateListenerMock, times(3)).updateChannelState(eq(channelUIDMock), any());
     }
 
+    @Test
+    public void receiveIdenticalStateSuppressedTest() {
+        ChannelConfig config = ChannelConfigBuilder.create("state", "command").build();
+        config.suppressIdenticalStates = true;
+        NumberValue value = new NumberValue(null, null, new BigDecimal(10), null);
+        ChannelState c = spy(new ChannelState(config, channelUIDMock, value, channelStateUpdateListenerMock));
+        c.start(connectionMock, mock(ScheduledExecutorService.class), 100);
+
+        c.processMessage("state", "15".getBytes());
+        c.processMessage("state", "15".getBytes());
+        c.processMessage("state", "15.0".getBytes());
+        assertThat(value.getChannelState().toString(), is("15.0"));
+
+        c.processMessage("state", "INCREASE".getBytes());
+        assertThat(value.getChannelState().toString(), is("25.0"));
+
+        verify(channelStateUpdateListenerMock, times(2)).updateChannelState(eq(channelUIDMock), any());
+    }
+
     @Test
     public void receiveDecimalFractionalTest() {
         NumberValue value = new NumberValue(null, null, new BigDecimal(10.5), null);
@@ -17,6 +17,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.Objects;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -345,4 +346,46 @@ public class ValueTests {
                 null);
         assertThrows(IllegalArgumentException.class, () -> v.parseCommand(new DecimalType(9.0)));
     }
+
+    @Test
+    public void parsePayloadMatchesTypeParser() {
+        NumberValue number = new NumberValue(null, null, null, Units.WATT);
+        for (String payload : new String[] { "0", "-0", "15", "-15", "21.50", "-0.25", "123456789012345678" }) {
+            assertPayload(number, payload);
+        }
+        PercentageValue percent = new PercentageValue(new BigDecimal(-100), new BigDecimal(100), null, "on", "off");
+        for (String payload : new String[] { "-100", "0", "100", "12.5" }) {
+            assertPayload(percent, payload);
+        }
+        OnOffValue onOff = new OnOffValue("OFF", "ON");
+        for (String payload : new String[] { "ON", "OFF" }) {
+            assertPayload(onOff, payload);
+        }
+        onOff = new OnOffValue("1", "0");
+        for (String payload : new String[] { "ON", "OFF", "1", "0" }) {
+            assertPayload(onOff, payload);
+        }
+        OpenCloseValue openClose = new OpenCloseValue("1", "0");
+        for (String payload : new String[] { "OPEN", "CLOSED", "1", "0" }) {
+            assertPayload(openClose, payload);
+        }
+    }
+
+    @Test
+    public void parsePayloadLeavesOtherPayloadsToTypeParser() {
+        NumberValue number = new NumberValue(null, null, null, null);
+        for (String payload : new String[] { "", "-", ".5", "5.", "1.2.3", "1e3", "+1", " 1", "1 W", "INCREASE",
+                "1234567890123456789" }) {
+            assertNull(number.parsePayload(payload.getBytes(StandardCharsets.UTF_8)), payload);
+        }
+        assertNull(new PercentageValue(null, null, null, "on", "off").parsePayload("on".getBytes()));
+        assertNull(new OnOffValue("1", "0").parsePayload("on".getBytes()));
+        assertNull(new TextValue().parsePayload("ON".getBytes()));
+    }
+
+    private void assertPayload(Value v, String payload) {
+        Command command = v.parsePayload(payload.getBytes(StandardCharsets.UTF_8));
+        assertNotNull(command, payload);
+        assertThat(payload, v.parseMessage(command), is(v.parseMessage(p(v, payload))));
+    }
 }
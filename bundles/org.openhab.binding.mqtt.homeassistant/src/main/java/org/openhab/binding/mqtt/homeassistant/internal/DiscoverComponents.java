@@ -68,6 +68,17 @@ public class DiscoverComponents implements MqttMessageSubscriber {
      */
     public static interface ComponentDiscovered {
         void componentDiscovered(HaID homeAssistantTopicID, AbstractComponent<?> component);
+
+        /**
+         * Returns true if a component with exactly the given configuration is already known. The configuration is then
+         * neither deserialized nor is the component created again.
+         *
+         * @param homeAssistantTopicID The component ID
+         * @param configuration The configuration JSON string
+         */
+        default boolean isComponentKnown(HaID homeAssistantTopicID, String configuration) {
+            return false;
+        }
     }
 
     /**
@@ -98,6 +109,13 @@ public class DiscoverComponents implements MqttMessageSubscriber {
         String config = new String(payload);
         AbstractComponent<?> component = null;
 
+        ComponentDiscovered discoveredListener = this.discoveredListener;
+        if (discoveredListener != null && discoveredListener.isComponentKnown(haID, config)) {
+            logger.trace("Configuration of HomeAssistant thing {} component {} is unchanged", haID.objectID,
+                    haID.component);
+            return;
+        }
+
         if (config.length() > 0) {
             try {
                 component = ComponentFactory.createComponent(thingUID, haID, config, updateListener, tracker, scheduler,
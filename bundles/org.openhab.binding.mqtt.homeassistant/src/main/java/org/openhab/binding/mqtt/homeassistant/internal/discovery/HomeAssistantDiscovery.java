@@ -13,7 +13,10 @@
 package org.openhab.binding.mqtt.homeassistant.internal.discovery;
 
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
@@ -70,6 +73,13 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
     protected final Map<String, Set<HaID>> componentsPerThingID = new TreeMap<>();
     protected final Map<String, ThingUID> thingIDPerTopic = new TreeMap<>();
     protected final Map<String, DiscoveryResult> results = new ConcurrentHashMap<>();
+    // The parsed configurations by topic. Retained configurations are received again on every reconnect, unchanged
+    // ones (same payload digest) are not deserialized again. Only kept in memory, so every configuration is parsed
+    // once after a restart.
+    protected final Map<String, DiscoveredConfig> configPerTopic = new ConcurrentHashMap<>();
+
+    protected record DiscoveredConfig(byte[] digest, AbstractChannelConfiguration config) {
+    }
 
     private @Nullable ScheduledFuture<?> future;
     private final Gson gson;
@@ -184,8 +194,7 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
         HaID haID = new HaID(topic);
 
         try {
-            AbstractChannelConfiguration config = AbstractChannelConfiguration
-                    .fromString(new String(payload, StandardCharsets.UTF_8), gson);
+            AbstractChannelConfiguration config = getConfig(topic, payload);
 
             final String thingID = config.getThingId(haID.objectID);
 
@@ -237,6 +246,27 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
         }
     }
 
+    private AbstractChannelConfiguration getConfig(String topic, byte[] payload) {
+        byte[] digest = digest(payload);
+        DiscoveredConfig known = configPerTopic.get(topic);
+        if (known != null && Arrays.equals(known.digest(), digest)) {
+            return known.config();
+        }
+        AbstractChannelConfiguration config = AbstractChannelConfiguration
+                .fromString(new String(payload, StandardCharsets.UTF_8), gson);
+        configPerTopic.put(topic, new DiscoveredConfig(digest, config));
+        return config;
+    }
+
+    private static byte[] digest(byte[] payload) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(payload);
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform supports SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
     protected void publishResults() {
         Collection<DiscoveryResult> localResults;
 
@@ -257,6 +287,7 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
         if (!topic.endsWith("/config")) {
             return;
         }
+        configPerTopic.remove(topic);
         if (thingIDPerTopic.containsKey(topic)) {
             ThingUID thingUID = thingIDPerTopic.remove(topic);
             if (thingUID != null) {
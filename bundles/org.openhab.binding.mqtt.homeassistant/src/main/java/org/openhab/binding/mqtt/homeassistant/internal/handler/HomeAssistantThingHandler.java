@@ -95,6 +95,8 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
 
     private final Gson gson;
     protected final Map<@Nullable String, AbstractComponent<?>> haComponents = new HashMap<>();
+    // The known components by their discovery topic, to skip unchanged configurations
+    protected final Map<HaID, AbstractComponent<?>> haComponentsByHaID = new HashMap<>();
 
     protected HandlerConfiguration config = new HandlerConfiguration();
     private Set<HaID> discoveryHomeAssistantIDs = new HashSet<>();
@@ -163,6 +165,7 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
                         id = groupUID.getId();
                     }
                     haComponents.put(id, component);
+                    haComponentsByHaID.put(haID, component);
                     component.addChannelTypes(channelTypeProvider);
                 } catch (ConfigurationException e) {
                     logger.error("Cannot not restore component {}: {}", thing, e.getMessage());
@@ -244,6 +247,21 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
         return componentChannel.getState();
     }
 
+    /**
+     * Callback of {@link DiscoverComponents}. Compares the configuration with the known component of the topic, which
+     * includes the components restored from the channel configurations.
+     */
+    @Override
+    public boolean isComponentKnown(HaID homeAssistantTopicID, String configuration) {
+        AbstractComponent<?> known;
+        synchronized (haComponents) { // sync whenever discoverComponents is started
+            known = haComponentsByHaID.get(homeAssistantTopicID);
+        }
+        // compare the hashes first, to avoid comparing the complete strings for changed configurations
+        return known != null && known.getConfigHash() == configuration.hashCode()
+                && known.getChannelConfigurationJson().equals(configuration);
+    }
+
     /**
      * Callback of {@link DiscoverComponents}. Add to a delayed batch processor.
      */
@@ -277,6 +295,7 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
                         // Don't wait for the future to complete. We are also not interested in failures.
                         // The component will be replaced in a moment.
                         known.stop();
+                        haComponentsByHaID.remove(known.getHaID());
                     } else {
                         known.setConfigSeen();
                         continue;
@@ -287,6 +306,7 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
                 discovered.addChannelTypes(channelTypeProvider);
                 // Add component to the component map
                 haComponents.put(id, discovered);
+                haComponentsByHaID.put(discovered.getHaID(), discovered);
                 // Start component / Subscribe to channel topics
                 discovered.start(connection, scheduler, 0).exceptionally(e -> {
                     logger.warn("Failed to start component {}", discovered.getHaID(), e);
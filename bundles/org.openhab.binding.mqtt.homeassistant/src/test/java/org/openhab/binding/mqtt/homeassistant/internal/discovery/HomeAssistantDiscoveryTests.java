@@ -93,6 +93,27 @@ public class HomeAssistantDiscoveryTests extends AbstractHomeAssistantTests {
                 "climate/0x847127fffe11dd6a_climate_zigbee2mqtt", "switch/0x847127fffe11dd6a_auto_lock_zigbee2mqtt"));
     }
 
+    @Test
+    public void testUnchangedConfigIsNotParsedAgain() {
+        var topic = "homeassistant/climate/0x847127fffe11dd6a_climate_zigbee2mqtt/config";
+        discovery.receivedMessage(HA_UID, bridgeConnection, topic,
+                getResourceAsByteArray("component/configTS0601ClimateThermostat.json"));
+        var config = discovery.configPerTopic.get(topic).config();
+
+        // When the same configuration is received again, e.g. after a reconnect
+        discovery.receivedMessage(HA_UID, bridgeConnection, topic,
+                getResourceAsByteArray("component/configTS0601ClimateThermostat.json"));
+        assertThat(discovery.configPerTopic.get(topic).config(), is(sameInstance(config)));
+
+        // When the configuration changes
+        discovery.receivedMessage(HA_UID, bridgeConnection, topic,
+                getResourceAsByteArray("component/configTS0601AutoLock.json"));
+        assertThat(discovery.configPerTopic.get(topic).config(), is(not(sameInstance(config))));
+
+        discovery.topicVanished(HA_UID, bridgeConnection, topic);
+        assertThat(discovery.configPerTopic.isEmpty(), is(true));
+    }
+
     private static class TestHomeAssistantDiscovery extends HomeAssistantDiscovery {
         public TestHomeAssistantDiscovery(MqttChannelTypeProvider typeProvider) {
             this.typeProvider = typeProvider;
@@ -121,6 +121,26 @@ public class HomeAssistantThingHandlerTests extends AbstractHomeAssistantTests {
         verify(channelTypeProvider, times(2)).setChannelGroupType(any(), any());
     }
 
+    @Test
+    public void testUnchangedComponentIsNotCreatedAgain() {
+        thingHandler.initialize();
+        verify(thingHandler, timeout(SUBSCRIBE_TIMEOUT)).start(any());
+
+        var configTopic = "homeassistant/climate/0x847127fffe11dd6a_climate_zigbee2mqtt/config";
+        thingHandler.discoverComponents.processMessage(configTopic,
+                getResourceAsByteArray("component/configTS0601ClimateThermostat.json"));
+        thingHandler.delayedProcessing.forceProcessNow();
+        assertThat(haThing.getChannels().size(), CoreMatchers.is(6));
+
+        // Retained configurations are received again on every reconnect
+        thingHandler.discoverComponents.processMessage(configTopic,
+                getResourceAsByteArray("component/configTS0601ClimateThermostat.json"));
+        thingHandler.delayedProcessing.forceProcessNow();
+        verify(thingHandler, times(1)).componentDiscovered(eq(new HaID(configTopic)), any(Climate.class));
+        verify(channelTypeProvider, times(6)).setChannelType(any(), any());
+        assertThat(haThing.getChannels().size(), CoreMatchers.is(6));
+    }
+
     /**
      * Test where the same component is published twice to MQTT. The binding should handle this.
      *
@@ -33,6 +33,7 @@ import org.openhab.binding.mqtt.homie.internal.homie300.DeviceCallback;
 import org.openhab.binding.mqtt.homie.internal.homie300.HandlerConfiguration;
 import org.openhab.binding.mqtt.homie.internal.homie300.Node;
 import org.openhab.binding.mqtt.homie.internal.homie300.Property;
+import org.openhab.binding.mqtt.homie.internal.homie300.WildcardSubscriptionConnection;
 import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
 import org.openhab.core.thing.Channel;
 import org.openhab.core.thing.ChannelUID;
@@ -60,6 +61,8 @@ public class HomieThingHandler extends AbstractMQTTThingHandler implements Devic
     protected HandlerConfiguration config = new HandlerConfiguration();
     protected DelayedBatchProcessing<Object> delayedProcessing;
     private @Nullable ScheduledFuture<?> heartBeatTimer;
+    // subscribes to all device topics at once, if configured. Attribute classes only keep a weak reference.
+    private @Nullable WildcardSubscriptionConnection wildcardConnection;
 
     /**
      * Create a new thing handler for homie discovered things. A channel type provider and a topic value receive timeout
@@ -126,7 +129,18 @@ public class HomieThingHandler extends AbstractMQTTThingHandler implements Devic
                     "Homie devices require QoS 1 but Qos 0/2 is configured. Using override. Please check the configuration");
             connection.setQos(1);
         }
-        return device.subscribe(connection, scheduler, attributeReceiveTimeout)
+        if (!config.wildcardsubscription) {
+            return start(CompletableFuture.completedFuture(true), connection);
+        }
+        WildcardSubscriptionConnection wildcardConnection = new WildcardSubscriptionConnection(connection,
+                config.basetopic + "/" + config.deviceid);
+        this.wildcardConnection = wildcardConnection;
+        return start(wildcardConnection.start(), wildcardConnection);
+    }
+
+    private CompletableFuture<@Nullable Void> start(CompletableFuture<Boolean> subscribed,
+            MqttBrokerConnection connection) {
+        return subscribed.thenCompose(b -> device.subscribe(connection, scheduler, attributeReceiveTimeout))
                 .thenCompose((Void v) -> device.startChannels(connection, scheduler, attributeReceiveTimeout, this))
                 .thenRun(() -> {
                     logger.debug("Homie device {} fully attached (start)", config.deviceid);
@@ -143,6 +157,11 @@ public class HomieThingHandler extends AbstractMQTTThingHandler implements Devic
         }
         delayedProcessing.join();
         device.stop();
+        final WildcardSubscriptionConnection wildcardConnection = this.wildcardConnection;
+        if (wildcardConnection != null) {
+            wildcardConnection.stop();
+            this.wildcardConnection = null;
+        }
         super.stop();
     }
 
@@ -224,7 +243,8 @@ public class HomieThingHandler extends AbstractMQTTThingHandler implements Devic
                 .collect(Collectors.toList());
         updateThing(editThing().withChannels(channels).build());
         updateProperty(MqttBindingConstants.HOMIE_PROPERTY_VERSION, device.attributes.homie);
-        final MqttBrokerConnection connection = this.connection;
+        final WildcardSubscriptionConnection wildcardConnection = this.wildcardConnection;
+        final MqttBrokerConnection connection = wildcardConnection != null ? wildcardConnection : this.connection;
         if (connection != null) {
             device.startChannels(connection, scheduler, attributeReceiveTimeout, this).thenRun(() -> {
                 logger.debug("Homie device {} fully attached (accept)", config.deviceid);
@@ -36,4 +36,9 @@ public class HandlerConfiguration {
      * Indicates if retained topics should be removed when the Thing is deleted.
      */
     public boolean removetopics = false;
+    /**
+     * Indicates if all topics of the device should be subscribed with one wildcard subscription,
+     * instead of one subscription per attribute and property.
+     */
+    public boolean wildcardsubscription = false;
 }
@@ -0,0 +1,144 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.homie.internal.homie300;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * A trie of MQTT topic filters, split into their topic levels. It finds all values registered for filters that match
+ * a topic, with the MQTT wildcards "+" (one level) and "#" (all remaining levels) in the filters.
+ *
+ * This class is not thread-safe.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class TopicTrie<T> {
+    private static class TrieNode<T> {
+        final Map<String, TrieNode<T>> children = new HashMap<>();
+        final List<T> values = new ArrayList<>();
+
+        boolean isEmpty() {
+            return children.isEmpty() && values.isEmpty();
+        }
+    }
+
+    private final TrieNode<T> root = new TrieNode<>();
+
+    /**
+     * Registers a value for a topic filter. A value can be registered more than once for the same filter.
+     *
+     * @param filter The topic filter, for example "homie/device/+/$name"
+     * @param value The value
+     */
+    public void add(String filter, T value) {
+        TrieNode<T> node = root;
+        for (String level : filter.split("/", -1)) {
+            node = node.children.computeIfAbsent(level, l -> new TrieNode<>());
+        }
+        node.values.add(value);
+    }
+
+    /**
+     * Removes one registration of a value for a topic filter.
+     *
+     * @param filter The topic filter
+     * @param value The value
+     * @return True if the value was registered for the filter
+     */
+    public boolean remove(String filter, T value) {
+        return remove(root, filter.split("/", -1), 0, value);
+    }
+
+    private boolean remove(TrieNode<T> node, String[] levels, int index, T value) {
+        if (index == levels.length) {
+            return node.values.remove(value);
+        }
+        TrieNode<T> child = node.children.get(levels[index]);
+        if (child == null || !remove(child, levels, index + 1, value)) {
+            return false;
+        }
+        // prune branches without any registrations left
+        if (child.isEmpty()) {
+            node.children.remove(levels[index]);
+        }
+        return true;
+    }
+
+    /**
+     * Returns all values registered for filters that match the topic.
+     *
+     * @param topic The topic, without wildcards
+     * @return The matching values, a value registered for several matching filters is contained several times
+     */
+    public List<T> match(String topic) {
+        List<T> result = new ArrayList<>();
+        match(root, topic.split("/", -1), 0, result);
+        return result;
+    }
+
+    private void match(TrieNode<T> node, String[] levels, int index, List<T> result) {
+        // "#" also matches the parent level, so "a/#" matches "a"
+        TrieNode<T> multiLevel = node.children.get("#");
+        if (multiLevel != null) {
+            result.addAll(multiLevel.values);
+        }
+        if (index == levels.length) {
+            result.addAll(node.values);
+            return;
+        }
+        TrieNode<T> child = node.children.get(levels[index]);
+        if (child != null) {
+            match(child, levels, index + 1, result);
+        }
+        TrieNode<T> singleLevel = node.children.get("+");
+        if (singleLevel != null) {
+            match(singleLevel, levels, index + 1, result);
+        }
+    }
+
+    public boolean isEmpty() {
+        return root.isEmpty();
+    }
+
+    public void clear() {
+        root.children.clear();
+        root.values.clear();
+    }
+
+    /**
+     * Returns true if the topic filter matches the topic.
+     *
+     * @param filter The topic filter, for example "homie/device/#"
+     * @param topic The topic, without wildcards
+     */
+    public static boolean matches(String filter, String topic) {
+        String[] filterLevels = filter.split("/", -1);
+        String[] topicLevels = topic.split("/", -1);
+        for (int i = 0; i < filterLevels.length; i++) {
+            String level = filterLevels[i];
+            if ("#".equals(level)) {
+                return true;
+            }
+            if (i == topicLevels.length || !("+".equals(level) || level.equals(topicLevels[i]))) {
+                return false;
+            }
+        }
+        return filterLevels.length == topicLevels.length;
+    }
+}
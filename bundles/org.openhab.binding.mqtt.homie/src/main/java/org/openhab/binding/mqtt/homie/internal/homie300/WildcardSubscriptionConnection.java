@@ -0,0 +1,184 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.homie.internal.homie300;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
+import org.openhab.core.io.transport.mqtt.MqttConnectionState;
+import org.openhab.core.io.transport.mqtt.MqttMessageSubscriber;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A broker connection for one Homie device, that subscribes once to all topics of the device ("homie/device/#")
+ * instead of once per attribute and property.
+ *
+ * Subscriptions to topics of the device are not sent to the broker, but kept in a {@link TopicTrie}, and received
+ * messages are routed to the matching subscribers. Subscriptions to other topics, publishing and everything else
+ * is passed on to the wrapped connection.
+ *
+ * The broker only sends the retained messages of the device once, when the wildcard subscription is made. The last
+ * message of each retained topic is therefore kept and passed to subscribers that subscribe later on, like the broker
+ * would do for a new subscription. Retained topics are the attributes ("$name", ...) and the properties, unless their
+ * "$retained" attribute is false. Commands to "/set" topics are never retained.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class WildcardSubscriptionConnection extends MqttBrokerConnection implements MqttMessageSubscriber {
+    private final Logger logger = LoggerFactory.getLogger(WildcardSubscriptionConnection.class);
+    private final MqttBrokerConnection connection;
+    private final String deviceTopic;
+    private final String wildcardTopic;
+
+    private static final String RETAINED_ATTRIBUTE = "/$retained";
+
+    // subscribers and last messages of the device topics, guarded by this
+    private final TopicTrie<MqttMessageSubscriber> subscribers = new TopicTrie<>();
+    private final Map<String, byte[]> lastMessages = new HashMap<>();
+    // properties with "$retained" set to false, which publish events instead of states
+    private final Set<String> nonRetainedProperties = new HashSet<>();
+
+    /**
+     * Creates a connection for a Homie device.
+     *
+     * @param connection The broker connection
+     * @param deviceTopic The topic of the device, for example "homie/device"
+     */
+    public WildcardSubscriptionConnection(MqttBrokerConnection connection, String deviceTopic) {
+        super(connection.getHost(), connection.getPort(), connection.isSecure(), connection.getClientId());
+        this.connection = connection;
+        this.deviceTopic = deviceTopic;
+        this.wildcardTopic = deviceTopic + "/#";
+    }
+
+    /**
+     * Subscribes to all topics of the device.
+     *
+     * @return A future that completes with true if the subscription worked.
+     */
+    public CompletableFuture<Boolean> start() {
+        logger.debug("Subscribing to all topics of the device: {}", wildcardTopic);
+        return connection.subscribe(wildcardTopic, this);
+    }
+
+    /**
+     * Unsubscribes from all topics of the device and removes all subscribers.
+     *
+     * @return A future that completes with true if the unsubscription worked.
+     */
+    public CompletableFuture<Boolean> stop() {
+        synchronized (this) {
+            subscribers.clear();
+            lastMessages.clear();
+            nonRetainedProperties.clear();
+        }
+        return connection.unsubscribe(wildcardTopic, this);
+    }
+
+    private boolean isDeviceTopic(String topic) {
+        return topic.startsWith(deviceTopic + "/");
+    }
+
+    @Override
+    public CompletableFuture<Boolean> subscribe(String topic, MqttMessageSubscriber subscriber) {
+        if (!isDeviceTopic(topic)) {
+            return connection.subscribe(topic, subscriber);
+        }
+        List<Map.Entry<String, byte[]>> retained = new ArrayList<>();
+        synchronized (this) {
+            subscribers.add(topic, subscriber);
+            byte[] payload = lastMessages.get(topic);
+            if (payload != null) {
+                retained.add(Map.entry(topic, payload));
+            } else if (topic.contains("+") || topic.contains("#")) {
+                lastMessages.entrySet().stream().filter(e -> TopicTrie.matches(topic, e.getKey()))
+                        .forEach(e -> retained.add(Map.entry(e.getKey(), e.getValue())));
+            }
+        }
+        retained.forEach(e -> subscriber.processMessage(e.getKey(), e.getValue()));
+        return CompletableFuture.completedFuture(true);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> unsubscribe(String topic, MqttMessageSubscriber subscriber) {
+        if (!isDeviceTopic(topic)) {
+            return connection.unsubscribe(topic, subscriber);
+        }
+        synchronized (this) {
+            subscribers.remove(topic, subscriber);
+        }
+        return CompletableFuture.completedFuture(true);
+    }
+
+    @Override
+    public void processMessage(String topic, byte[] payload) {
+        List<MqttMessageSubscriber> matches;
+        synchronized (this) {
+            if (topic.endsWith(RETAINED_ATTRIBUTE)) {
+                String property = topic.substring(0, topic.length() - RETAINED_ATTRIBUTE.length());
+                if ("false".equals(new String(payload, StandardCharsets.UTF_8))) {
+                    nonRetainedProperties.add(property);
+                    lastMessages.remove(property);
+                } else {
+                    nonRetainedProperties.remove(property);
+                }
+            }
+            // an empty retained message removes the retained message of a topic
+            if (payload.length == 0) {
+                lastMessages.remove(topic);
+            } else if (isRetained(topic)) {
+                lastMessages.put(topic, payload);
+            }
+            matches = subscribers.match(topic);
+        }
+        matches.forEach(subscriber -> subscriber.processMessage(topic, payload));
+    }
+
+    private boolean isRetained(String topic) {
+        if (topic.contains("/$")) {
+            // attributes of the device, its nodes and properties
+            return true;
+        }
+        return !topic.endsWith("/set") && !nonRetainedProperties.contains(topic);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> publish(String topic, byte[] payload, int qos, boolean retain) {
+        return connection.publish(topic, payload, qos, retain);
+    }
+
+    @Override
+    public int getQos() {
+        return connection.getQos();
+    }
+
+    @Override
+    public void setQos(int qos) {
+        connection.setQos(qos);
+    }
+
+    @Override
+    public MqttConnectionState connectionState() {
+        return connection.connectionState();
+    }
+}
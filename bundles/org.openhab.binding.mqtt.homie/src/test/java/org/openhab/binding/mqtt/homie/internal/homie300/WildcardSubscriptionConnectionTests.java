@@ -0,0 +1,166 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.homie.internal.homie300;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
+import org.openhab.core.io.transport.mqtt.MqttMessageSubscriber;
+
+/**
+ * Tests cases for {@link WildcardSubscriptionConnection} and {@link TopicTrie}.
+ *
+ * @author agent - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@NonNullByDefault
+public class WildcardSubscriptionConnectionTests {
+    private @Mock @NonNullByDefault({}) MqttBrokerConnection connectionMock;
+    private @Mock @NonNullByDefault({}) MqttMessageSubscriber subscriberMock;
+    private @Mock @NonNullByDefault({}) MqttMessageSubscriber otherSubscriberMock;
+
+    private @NonNullByDefault({}) WildcardSubscriptionConnection connection;
+
+    @BeforeEach
+    public void setUp() {
+        doReturn("localhost").when(connectionMock).getHost();
+        doReturn(1883).when(connectionMock).getPort();
+        doReturn("clientid").when(connectionMock).getClientId();
+        doReturn(CompletableFuture.completedFuture(true)).when(connectionMock).subscribe(any(), any());
+        doReturn(CompletableFuture.completedFuture(true)).when(connectionMock).unsubscribe(any(), any());
+
+        connection = new WildcardSubscriptionConnection(connectionMock, "homie/device");
+        connection.start();
+    }
+
+    @Test
+    public void topicTrie() {
+        TopicTrie<String> trie = new TopicTrie<>();
+        trie.add("homie/device/$name", "name");
+        trie.add("homie/device/+/$name", "nodeName");
+        trie.add("homie/device/#", "all");
+
+        assertThat(trie.match("homie/device/$name"), is(List.of("all", "name")));
+        assertThat(trie.match("homie/device/node/$name"), is(List.of("all", "nodeName")));
+        assertThat(trie.match("homie/device"), is(List.of("all")));
+        assertThat(trie.match("homie/other/$name"), is(List.of()));
+
+        assertTrue(trie.remove("homie/device/+/$name", "nodeName"));
+        assertFalse(trie.remove("homie/device/+/$name", "nodeName"));
+        assertThat(trie.match("homie/device/node/$name"), is(List.of("all")));
+
+        trie.remove("homie/device/$name", "name");
+        trie.remove("homie/device/#", "all");
+        assertTrue(trie.isEmpty());
+
+        assertTrue(TopicTrie.matches("homie/device/+/$name", "homie/device/node/$name"));
+        assertTrue(TopicTrie.matches("homie/device/#", "homie/device/node/property"));
+        assertFalse(TopicTrie.matches("homie/device/+", "homie/device/node/property"));
+        assertFalse(TopicTrie.matches("homie/device/node/property", "homie/device/node"));
+    }
+
+    @Test
+    public void subscribesOnceToDeviceTopics() {
+        verify(connectionMock).subscribe("homie/device/#", connection);
+
+        connection.subscribe("homie/device/$name", subscriberMock);
+        connection.subscribe("homie/device/node/property", otherSubscriberMock);
+        verify(connectionMock, times(1)).subscribe(any(), any());
+
+        connection.processMessage("homie/device/$name", "name".getBytes());
+        connection.processMessage("homie/device/node/property", "12".getBytes());
+        verify(subscriberMock).processMessage(eq("homie/device/$name"), eq("name".getBytes()));
+        verify(otherSubscriberMock).processMessage(eq("homie/device/node/property"), eq("12".getBytes()));
+        verify(subscriberMock, times(1)).processMessage(any(), any());
+
+        connection.unsubscribe("homie/device/$name", subscriberMock);
+        connection.processMessage("homie/device/$name", "new name".getBytes());
+        verify(subscriberMock, times(1)).processMessage(any(), any());
+        verify(connectionMock, never()).unsubscribe(any(), any());
+
+        connection.stop();
+        verify(connectionMock).unsubscribe("homie/device/#", connection);
+    }
+
+    @Test
+    public void passesLastMessageToLaterSubscribers() {
+        connection.processMessage("homie/device/$name", "name".getBytes());
+        connection.processMessage("homie/device/node/$name", "node".getBytes());
+
+        connection.subscribe("homie/device/$name", subscriberMock);
+        verify(subscriberMock).processMessage(eq("homie/device/$name"), eq("name".getBytes()));
+
+        connection.subscribe("homie/device/+/$name", otherSubscriberMock);
+        verify(otherSubscriberMock).processMessage(eq("homie/device/node/$name"), eq("node".getBytes()));
+
+        // an empty message is passed on, but deletes the retained message
+        connection.processMessage("homie/device/node/$name", new byte[0]);
+        connection.unsubscribe("homie/device/+/$name", otherSubscriberMock);
+        connection.subscribe("homie/device/+/$name", otherSubscriberMock);
+        verify(otherSubscriberMock, times(2)).processMessage(any(), any());
+    }
+
+    @Test
+    public void passesLastStateOfRetainedPropertiesOnly() {
+        connection.processMessage("homie/device/node/property", "12".getBytes());
+        connection.processMessage("homie/device/node/property/set", "13".getBytes());
+        connection.processMessage("homie/device/node/event/$retained", "false".getBytes());
+        connection.processMessage("homie/device/node/event", "pressed".getBytes());
+
+        connection.subscribe("homie/device/node/property", subscriberMock);
+        verify(subscriberMock).processMessage(eq("homie/device/node/property"), eq("12".getBytes()));
+        connection.subscribe("homie/device/node/property/set", subscriberMock);
+        connection.subscribe("homie/device/node/event", subscriberMock);
+        verify(subscriberMock, times(1)).processMessage(any(), any());
+
+        // the attribute itself is retained
+        connection.subscribe("homie/device/node/+/$retained", otherSubscriberMock);
+        verify(otherSubscriberMock).processMessage(eq("homie/device/node/event/$retained"), eq("false".getBytes()));
+    }
+
+    @Test
+    public void dropsLastStateOfPropertyBecomingNonRetained() {
+        connection.processMessage("homie/device/node/event", "pressed".getBytes());
+        connection.processMessage("homie/device/node/event/$retained", "false".getBytes());
+
+        connection.subscribe("homie/device/node/event", subscriberMock);
+        verify(subscriberMock, never()).processMessage(any(), any());
+    }
+
+    @Test
+    public void passesOtherTopicsToConnection() {
+        connection.subscribe("homie/otherdevice/$name", subscriberMock);
+        verify(connectionMock).subscribe("homie/otherdevice/$name", subscriberMock);
+        connection.unsubscribe("homie/otherdevice/$name", subscriberMock);
+        verify(connectionMock).unsubscribe("homie/otherdevice/$name", subscriberMock);
+
+        connection.publish("homie/device/node/property/set", "1".getBytes(), 1, false);
+        verify(connectionMock).publish(eq("homie/device/node/property/set"), eq("1".getBytes()), eq(1), eq(false));
+    }
+}
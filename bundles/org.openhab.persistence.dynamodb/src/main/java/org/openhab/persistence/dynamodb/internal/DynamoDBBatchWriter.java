@@ -0,0 +1,322 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.dynamodb.internal;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.DoubleAdder;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.ConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.ProvisionedThroughputExceededException;
+import software.amazon.awssdk.services.dynamodb.model.PutRequest;
+import software.amazon.awssdk.services.dynamodb.model.RequestLimitExceededException;
+import software.amazon.awssdk.services.dynamodb.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.dynamodb.model.ReturnConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
+
+/**
+ * Coalesces PutItem requests into BatchWriteItem requests.
+ *
+ * Items are collected for a short time, or until a full batch of {@value #MAX_BATCH_SIZE} items is available, and
+ * then written with one BatchWriteItem request. Items that DynamoDB returns as unprocessed (typically due to
+ * throttling) are written again after an exponentially growing, randomized delay.
+ *
+ * If a table does not exist yet, the items of the batch are written with {@link TableCreatingPutItem}, which creates
+ * the table first.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+@NonNullByDefault
+public class DynamoDBBatchWriter {
+    /**
+     * Maximum number of items in one BatchWriteItem request, as defined by DynamoDB
+     */
+    public static final int MAX_BATCH_SIZE = 25;
+
+    private static final long LINGER_MILLIS = 100;
+    private static final int MAX_RETRIES = 8;
+    private static final long RETRY_BASE_DELAY_MILLIS = 50;
+    private static final long RETRY_MAX_DELAY_MILLIS = 10_000;
+
+    private final Logger logger = LoggerFactory.getLogger(DynamoDBBatchWriter.class);
+
+    private final DynamoDBPersistenceService service;
+    private final ExecutorService executor;
+
+    // items waiting to be written, by table name and primary key
+    private final Map<String, Map<Map<String, AttributeValue>, PendingPut<?>>> pendingPuts = new LinkedHashMap<>();
+    private int pendingCount;
+    private boolean flushScheduled;
+
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final AtomicLong batchRequests = new AtomicLong();
+    private final AtomicLong writtenItems = new AtomicLong();
+    private final AtomicLong retriedItems = new AtomicLong();
+    private final AtomicLong failedItems = new AtomicLong();
+    private final DoubleAdder consumedCapacity = new DoubleAdder();
+
+    public DynamoDBBatchWriter(DynamoDBPersistenceService service) {
+        this.service = service;
+        this.executor = service.getExecutor();
+    }
+
+    /**
+     * Queue an item to be written
+     *
+     * An item with the same primary key as an already queued item replaces that item, like consecutive PutItem
+     * requests would.
+     *
+     * @param table table of the item
+     * @param dto item to write
+     */
+    public <T extends DynamoDBItem<?>> void put(DynamoDbAsyncTable<T> table, T dto) {
+        TableSchema<T> schema = table.tableSchema();
+        Map<String, AttributeValue> item = schema.itemToMap(dto, true);
+        Map<String, AttributeValue> key = new HashMap<>();
+        for (String keyAttribute : schema.tableMetadata().primaryKeys()) {
+            key.put(keyAttribute, item.get(keyAttribute));
+        }
+
+        @Nullable
+        List<PendingPut<?>> batch = null;
+        synchronized (this) {
+            PendingPut<?> replaced = pendingPuts.computeIfAbsent(table.tableName(), name -> new LinkedHashMap<>())
+                    .put(key, new PendingPut<>(table, dto, item));
+            if (replaced == null) {
+                pendingCount++;
+                queueDepth.incrementAndGet();
+            }
+            if (pendingCount >= MAX_BATCH_SIZE) {
+                batch = takeBatch();
+            } else if (!flushScheduled) {
+                flushScheduled = true;
+                CompletableFuture.delayedExecutor(LINGER_MILLIS, TimeUnit.MILLISECONDS, executor)
+                        .execute(this::flush);
+            }
+        }
+        if (batch != null) {
+            write(batch);
+        }
+    }
+
+    /**
+     * Write all queued items
+     *
+     * @return future completing when the items are written or discarded, including retries
+     */
+    public CompletableFuture<Void> flush() {
+        List<List<PendingPut<?>>> batches = new ArrayList<>();
+        synchronized (this) {
+            flushScheduled = false;
+            while (pendingCount > 0) {
+                batches.add(takeBatch());
+            }
+        }
+        return CompletableFuture.allOf(batches.stream().map(this::write).toArray(CompletableFuture[]::new));
+    }
+
+    private synchronized List<PendingPut<?>> takeBatch() {
+        List<PendingPut<?>> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        Iterator<Map<Map<String, AttributeValue>, PendingPut<?>>> tables = pendingPuts.values().iterator();
+        while (tables.hasNext() && batch.size() < MAX_BATCH_SIZE) {
+            Iterator<PendingPut<?>> puts = tables.next().values().iterator();
+            while (puts.hasNext() && batch.size() < MAX_BATCH_SIZE) {
+                batch.add(puts.next());
+                puts.remove();
+            }
+            if (!puts.hasNext()) {
+                tables.remove();
+            }
+        }
+        pendingCount -= batch.size();
+        return batch;
+    }
+
+    private CompletableFuture<Void> write(List<PendingPut<?>> batch) {
+        Map<String, List<WriteRequest>> requestItems = new LinkedHashMap<>();
+        for (PendingPut<?> put : batch) {
+            requestItems.computeIfAbsent(put.table().tableName(), name -> new ArrayList<>())
+                    .add(WriteRequest.builder().putRequest(PutRequest.builder().item(put.item()).build()).build());
+        }
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        write(requestItems, batch.size(), 0, batch, done);
+        return done;
+    }
+
+    private void write(Map<String, List<WriteRequest>> requestItems, int count, int attempt,
+            List<PendingPut<?>> batch, CompletableFuture<Void> done) {
+        DynamoDbAsyncClient lowLevelClient = service.getLowLevelClient();
+        if (lowLevelClient == null) {
+            logger.warn("BatchWriteItem: client not available, discarding {} items.", count);
+            completed(0, count, done);
+            return;
+        }
+        batchRequests.incrementAndGet();
+        lowLevelClient
+                .batchWriteItem(req -> req.requestItems(requestItems)
+                        .returnConsumedCapacity(ReturnConsumedCapacity.TOTAL)
+                        .overrideConfiguration(service::overrideConfig))
+                .whenCompleteAsync((response, exception) -> {
+                    if (exception == null) {
+                        handleResponse(response, count, attempt, done);
+                        return;
+                    }
+                    Throwable cause = exception.getCause() == null ? exception : exception.getCause();
+                    if (cause instanceof ResourceNotFoundException && attempt == 0) {
+                        logger.trace("BatchWriteItem: table not present. Writing {} items one by one, creating the "
+                                + "table first", batch.size());
+                        CompletableFuture.allOf(batch.stream().map(this::putWithTableCreation)
+                                .toArray(CompletableFuture[]::new)).whenComplete((result, e) -> done.complete(null));
+                    } else if ((cause instanceof ProvisionedThroughputExceededException
+                            || cause instanceof RequestLimitExceededException) && attempt < MAX_RETRIES) {
+                        logger.debug("BatchWriteItem: throttled with {}, retrying {} items",
+                                cause.getClass().getSimpleName(), count);
+                        retry(requestItems, count, attempt + 1, batch, done);
+                    } else {
+                        logger.warn("BatchWriteItem: failed (final) with {} {}. Discarding {} items.",
+                                cause.getClass().getSimpleName(), cause.getMessage(), count);
+                        completed(0, count, done);
+                    }
+                }, executor);
+    }
+
+    private void handleResponse(BatchWriteItemResponse response, int count, int attempt,
+            CompletableFuture<Void> done) {
+        for (ConsumedCapacity capacity : response.consumedCapacity()) {
+            Double units = capacity.capacityUnits();
+            if (units != null) {
+                consumedCapacity.add(units);
+            }
+        }
+        Map<String, List<WriteRequest>> unprocessedItems = response.unprocessedItems();
+        int unprocessedCount = unprocessedItems.values().stream().mapToInt(List::size).sum();
+        logger.trace("BatchWriteItem: wrote {} items, {} unprocessed (attempt {})", count - unprocessedCount,
+                unprocessedCount, attempt);
+        if (unprocessedCount == 0) {
+            completed(count, 0, done);
+        } else if (attempt < MAX_RETRIES) {
+            completed(count - unprocessedCount, 0);
+            retry(unprocessedItems, unprocessedCount, attempt + 1, List.of(), done);
+        } else {
+            logger.warn("BatchWriteItem: {} items still unprocessed after {} attempts. Discarding them.",
+                    unprocessedCount, attempt + 1);
+            completed(count - unprocessedCount, unprocessedCount, done);
+        }
+    }
+
+    private void retry(Map<String, List<WriteRequest>> requestItems, int count, int attempt,
+            List<PendingPut<?>> batch, CompletableFuture<Void> done) {
+        retriedItems.addAndGet(count);
+        // "full jitter": random delay up to the exponentially growing backoff
+        long backoff = Math.min(RETRY_MAX_DELAY_MILLIS, RETRY_BASE_DELAY_MILLIS << attempt);
+        long delay = ThreadLocalRandom.current().nextLong(backoff + 1);
+        CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS, executor)
+                .execute(() -> write(requestItems, count, attempt, batch, done));
+    }
+
+    private <T extends DynamoDBItem<?>> CompletableFuture<?> putWithTableCreation(PendingPut<T> put) {
+        try {
+            return new TableCreatingPutItem<T>(service, put.dto(), put.table()).putItemAsync()
+                    .whenComplete((result, exception) -> {
+                        if (exception == null) {
+                            completed(1, 0);
+                        } else {
+                            completed(0, 1);
+                        }
+                    });
+        } catch (IllegalStateException e) {
+            logger.warn("PutItem: service not ready, discarding item {}", put.dto());
+            completed(0, 1);
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    private void completed(int written, int failed) {
+        writtenItems.addAndGet(written);
+        failedItems.addAndGet(failed);
+        queueDepth.addAndGet(-written - failed);
+    }
+
+    private void completed(int written, int failed, CompletableFuture<Void> done) {
+        completed(written, failed);
+        done.complete(null);
+    }
+
+    /**
+     * @return number of items queued or being written
+     */
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    /**
+     * @return number of BatchWriteItem requests sent, including retries
+     */
+    public long getBatchRequests() {
+        return batchRequests.get();
+    }
+
+    public long getWrittenItems() {
+        return writtenItems.get();
+    }
+
+    /**
+     * @return number of items written again after being returned as unprocessed or throttled
+     */
+    public long getRetriedItems() {
+        return retriedItems.get();
+    }
+
+    public long getFailedItems() {
+        return failedItems.get();
+    }
+
+    /**
+     * @return write capacity units consumed by BatchWriteItem requests
+     */
+    public double getConsumedCapacity() {
+        return consumedCapacity.sum();
+    }
+
+    private record PendingPut<T extends DynamoDBItem<?>>(DynamoDbAsyncTable<T> table, T dto,
+            Map<String, AttributeValue> item) {
+    }
+
+    @Override
+    public String toString() {
+        return String.format("DynamoDBBatchWriter(queueDepth=%d, batchRequests=%d, writtenItems=%d, retriedItems=%d, "
+                + "failedItems=%d, consumedCapacity=%.1f)", getQueueDepth(), getBatchRequests(), getWrittenItems(),
+                getRetriedItems(), getFailedItems(), getConsumedCapacity());
+    }
+}
@@ -28,6 +28,8 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 import javax.measure.Unit;
@@ -113,8 +115,10 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
     private @Nullable DynamoDBConfig dbConfig;
     private @Nullable DynamoDBTableNameResolver tableNameResolver;
     private final ExecutorService executor = ThreadPoolManager.getPool(DYNAMODB_THREADPOOL_NAME);
+    private final DynamoDBBatchWriter batchWriter = new DynamoDBBatchWriter(this);
     private static final Duration TIMEOUT_API_CALL = Duration.ofSeconds(60);
     private static final Duration TIMEOUT_API_CALL_ATTEMPT = Duration.ofSeconds(5);
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(30);
     private Map<Class<? extends DynamoDBItem<?>>, DynamoDbAsyncTable<? extends DynamoDBItem<?>>> tableCache = new ConcurrentHashMap<>(
             2);
 
@@ -166,6 +170,10 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
         return executor;
     }
 
+    public DynamoDBBatchWriter getBatchWriter() {
+        return batchWriter;
+    }
+
     @Nullable
     DynamoDBTableNameResolver getTableNameResolver() {
         return tableNameResolver;
@@ -205,6 +213,17 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
     public void deactivate() {
         logger.debug("dynamodb persistence service deactivated");
         logIfManyQueuedTasks();
+        // the client must stay open until the queued and retried items are written
+        try {
+            batchWriter.flush().get(SHUTDOWN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            logger.warn("Could not write {} queued items within {} seconds, discarding them.",
+                    batchWriter.getQueueDepth(), SHUTDOWN_TIMEOUT.toSeconds());
+        } catch (ExecutionException e) {
+            logger.warn("Writing the queued items failed: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
         disconnect();
     }
 
@@ -561,21 +580,21 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
             }
             logger.trace("store() called with item {} {} '{}', which was converted to DTO {}",
                     copiedItem.getClass().getSimpleName(), effectiveName, copiedItem.getState(), dto);
-            dto.accept(new DynamoDBItemVisitor<TableCreatingPutItem<? extends DynamoDBItem<?>>>() {
+            // Writes are coalesced into BatchWriteItem requests, see DynamoDBBatchWriter
+            dto.accept(new DynamoDBItemVisitor<@Nullable Void>() {
 
                 @Override
-                public TableCreatingPutItem<? extends DynamoDBItem<?>> visit(
-                        DynamoDBBigDecimalItem dynamoBigDecimalItem) {
-                    return new TableCreatingPutItem<DynamoDBBigDecimalItem>(DynamoDBPersistenceService.this,
-                            dynamoBigDecimalItem, getTable(DynamoDBBigDecimalItem.class));
+                public @Nullable Void visit(DynamoDBBigDecimalItem dynamoBigDecimalItem) {
+                    batchWriter.put(getTable(DynamoDBBigDecimalItem.class), dynamoBigDecimalItem);
+                    return null;
                 }
 
                 @Override
-                public TableCreatingPutItem<? extends DynamoDBItem<?>> visit(DynamoDBStringItem dynamoStringItem) {
-                    return new TableCreatingPutItem<DynamoDBStringItem>(DynamoDBPersistenceService.this,
-                            dynamoStringItem, getTable(DynamoDBStringItem.class));
+                public @Nullable Void visit(DynamoDBStringItem dynamoStringItem) {
+                    batchWriter.put(getTable(DynamoDBStringItem.class), dynamoStringItem);
+                    return null;
                 }
-            }).putItemAsync();
+            });
         }, executor).exceptionally(e -> {
             logger.error("Unexcepted error", e);
             return null;
@@ -668,6 +687,9 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
                         localExecutor.getQueue().size());
             }
         }
+        if (batchWriter.getQueueDepth() >= 10 * DynamoDBBatchWriter.MAX_BATCH_SIZE) {
+            logger.debug("Many items waiting to be written: {}", batchWriter);
+        }
     }
 
     private String filterToString(FilterCriteria filter) {
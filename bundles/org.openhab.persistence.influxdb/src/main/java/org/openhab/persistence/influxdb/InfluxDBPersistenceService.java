@@ -14,6 +14,12 @@ package org.openhab.persistence.influxdb;
 
 import static org.openhab.persistence.influxdb.internal.InfluxDBConstants.*;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
@@ -25,15 +31,14 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.OpenHAB;
 import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.config.core.ConfigurableService;
 import org.openhab.core.items.Item;
@@ -50,11 +55,15 @@ import org.openhab.core.persistence.strategy.PersistenceStrategy;
 import org.openhab.core.types.State;
 import org.openhab.core.types.UnDefType;
 import org.openhab.persistence.influxdb.internal.FilterCriteriaQueryCreator;
+import org.openhab.persistence.influxdb.internal.InfluxDBBatchPolicy;
 import org.openhab.persistence.influxdb.internal.InfluxDBConfiguration;
 import org.openhab.persistence.influxdb.internal.InfluxDBHistoricItem;
+import org.openhab.persistence.influxdb.internal.InfluxDBLineProtocolEncoder;
 import org.openhab.persistence.influxdb.internal.InfluxDBMetadataService;
 import org.openhab.persistence.influxdb.internal.InfluxDBPersistentItemInfo;
+import org.openhab.persistence.influxdb.internal.InfluxDBPointQueue;
 import org.openhab.persistence.influxdb.internal.InfluxDBRepository;
+import org.openhab.persistence.influxdb.internal.InfluxDBRepository.WriteResult;
 import org.openhab.persistence.influxdb.internal.InfluxDBStateConvertUtils;
 import org.openhab.persistence.influxdb.internal.InfluxPoint;
 import org.openhab.persistence.influxdb.internal.influx1.InfluxDB1RepositoryImpl;
@@ -98,7 +107,11 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
 
     private final Logger logger = LoggerFactory.getLogger(InfluxDBPersistenceService.class);
 
-    private static final int COMMIT_INTERVAL = 3; // in s
+    private static final int COMMIT_INTERVAL = 1; // in s
+    private static final int MIN_RETRY_INTERVAL = 3; // in s
+    private static final int MAX_RETRY_INTERVAL = 300; // in s
+    private static final Duration SHUTDOWN_COMMIT_TIMEOUT = Duration.ofSeconds(10);
+    private static final String REJECTED_FILE_NAME = "rejected.lp";
     protected static final String CONFIG_URI = "persistence:influxdb";
 
     // External dependencies
@@ -107,11 +120,17 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
 
     private final InfluxDBConfiguration configuration;
     private final InfluxDBRepository influxDBRepository;
-    private boolean serviceActivated;
+    private volatile boolean serviceActivated;
 
     // storage
     private final ScheduledFuture<?> storeJob;
-    private final BlockingQueue<InfluxPoint> pointsQueue = new LinkedBlockingQueue<>();
+    private final InfluxDBPointQueue pointsQueue;
+    private final Path spillFolder;
+    private final InfluxDBBatchPolicy batchPolicy = new InfluxDBBatchPolicy(System.currentTimeMillis());
+    // guards writing, so the monitor of the service is not held during network operations
+    private final Object commitLock = new Object();
+    private int retryInterval = MIN_RETRY_INTERVAL;
+    private volatile Instant nextRetry = Instant.MIN;
 
     // conversion
     private final Set<ItemFactory> itemFactories = new HashSet<>();
@@ -120,14 +139,24 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
     @Activate
     public InfluxDBPersistenceService(final @Reference ItemRegistry itemRegistry,
             final @Reference InfluxDBMetadataService influxDBMetadataService, Map<String, Object> config) {
+        this(itemRegistry, influxDBMetadataService, config,
+                Path.of(OpenHAB.getUserDataFolder(), "persistence", SERVICE_NAME));
+    }
+
+    // Visible for testing
+    protected InfluxDBPersistenceService(ItemRegistry itemRegistry, InfluxDBMetadataService influxDBMetadataService,
+            Map<String, Object> config, Path spillFolder) {
         this.itemRegistry = itemRegistry;
         this.influxDBMetadataService = influxDBMetadataService;
         this.configuration = new InfluxDBConfiguration(config);
+        this.spillFolder = spillFolder;
+        this.pointsQueue = new InfluxDBPointQueue(spillFolder, configuration.getMaxQueueSize());
         if (configuration.isValid()) {
             this.influxDBRepository = createInfluxDBRepository();
             this.influxDBRepository.connect();
             this.storeJob = ThreadPoolManager.getScheduledPool("org.openhab.influxdb")
-                    .scheduleWithFixedDelay(this::commit, COMMIT_INTERVAL, COMMIT_INTERVAL, TimeUnit.SECONDS);
+                    .scheduleWithFixedDelay(() -> commit(false, Instant.MAX), COMMIT_INTERVAL, COMMIT_INTERVAL,
+                            TimeUnit.SECONDS);
             serviceActivated = true;
         } else {
             throw new IllegalArgumentException("Configuration invalid.");
@@ -153,11 +182,11 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
         serviceActivated = false;
 
         storeJob.cancel(false);
-        commit(); // ensure we at least tried to store the data;
+        // ensure we at least tried to store the data, the rest is kept by the queue
+        commit(true, Instant.now().plus(SHUTDOWN_COMMIT_TIMEOUT));
 
-        if (!pointsQueue.isEmpty()) {
-            logger.warn("InfluxDB failed to finally store {} points.", pointsQueue.size());
-        }
+        // keep the points which could not be stored for the next start
+        pointsQueue.close();
 
         influxDBRepository.disconnect();
         logger.info("InfluxDB persistence service stopped.");
@@ -279,18 +308,131 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
         return false;
     }
 
-    private void commit() {
-        if (!pointsQueue.isEmpty() && checkConnection()) {
-            List<InfluxPoint> points = new ArrayList<>();
-            pointsQueue.drainTo(points);
-            if (!influxDBRepository.write(points)) {
-                logger.warn("Re-queuing {} elements, failed to write batch.", points.size());
-                pointsQueue.addAll(points);
-                influxDBRepository.disconnect();
-            } else {
-                logger.trace("Wrote {} elements to database", points.size());
+    /**
+     * Writes the queued points in batches, once a full batch is queued or the flush interval has elapsed. If writing
+     * fails, the points stay queued and the next attempt is delayed, doubling the delay after every failure. Points
+     * rejected by the database are moved to a file instead, so they do not block the points queued after them.
+     *
+     * @param force <code>true</code> to write all queued points now, even if the next attempt is delayed
+     * @param deadline time after which no further batch is written, the remaining points stay queued
+     */
+    private void commit(boolean force, Instant deadline) {
+        synchronized (commitLock) {
+            // spilled points are a backlog, which is written immediately
+            int queued = pointsQueue.isSpilling() ? Integer.MAX_VALUE : pointsQueue.getSize();
+            if (!force && (Instant.now().isBefore(nextRetry)
+                    || !batchPolicy.isFlushDue(queued, System.currentTimeMillis()))) {
+                return;
+            }
+            List<InfluxPoint> points = pointsQueue.peek(batchPolicy.getBatchSize());
+            if (points.isEmpty()) {
+                return;
+            }
+            if (!checkConnection()) {
+                delayRetry();
+                return;
+            }
+            int written = 0;
+            while (!points.isEmpty()) {
+                if ((!force && !serviceActivated) || Instant.now().isAfter(deadline)) {
+                    // the service is stopping, the remaining points are kept by the queue
+                    logger.debug("Stopped writing, {} elements queued.", pointsQueue.getSize());
+                    return;
+                }
+                long start = System.currentTimeMillis();
+                WriteResult result = influxDBRepository.write(points);
+                if (result == WriteResult.REJECTED) {
+                    List<InfluxPoint> rejected = new ArrayList<>();
+                    result = writeRejected(points, rejected);
+                    if (result != WriteResult.FAILED) {
+                        // otherwise the whole batch stays queued and the rejected points are searched again
+                        storeRejected(rejected);
+                    }
+                }
+                if (result == WriteResult.FAILED) {
+                    logger.warn("Failed to write batch of {} elements, retrying in {} s ({} elements queued).",
+                            points.size(), retryInterval, pointsQueue.getSize());
+                    influxDBRepository.disconnect();
+                    delayRetry();
+                    return;
+                }
+                long latency = System.currentTimeMillis() - start;
+                logger.trace("Wrote {} elements to database in {} ms", points.size(), latency);
+                batchPolicy.onBatchWritten(points.size(), latency);
+                pointsQueue.remove(points.size());
+                written += points.size();
+                points = pointsQueue.peek(batchPolicy.getBatchSize());
+            }
+            batchPolicy.onFlushed(written, System.currentTimeMillis());
+            retryInterval = MIN_RETRY_INTERVAL;
+            nextRetry = Instant.MIN;
+        }
+    }
+
+    /**
+     * Writes a batch rejected by the database in halves, until the rejected points are found.
+     *
+     * @param rejected receives the points rejected by the database
+     * @return {@link WriteResult#FAILED} if writing failed for another reason, otherwise the points have been written
+     *         or added to <code>rejected</code>
+     */
+    private WriteResult writeRejected(List<InfluxPoint> points, List<InfluxPoint> rejected) {
+        if (points.size() == 1) {
+            rejected.addAll(points);
+            return WriteResult.WRITTEN;
+        }
+        int half = points.size() / 2;
+        for (List<InfluxPoint> part : List.of(points.subList(0, half), points.subList(half, points.size()))) {
+            WriteResult result = influxDBRepository.write(part);
+            if (result == WriteResult.REJECTED) {
+                result = writeRejected(part, rejected);
+            }
+            if (result == WriteResult.FAILED) {
+                return result;
             }
         }
+        return WriteResult.WRITTEN;
+    }
+
+    /**
+     * Appends points rejected by the database to the rejected file in line protocol, so they can be corrected and
+     * imported manually.
+     */
+    private void storeRejected(List<InfluxPoint> points) {
+        String records = new InfluxDBLineProtocolEncoder().encode(points);
+        Path rejectedFile = spillFolder.resolve(REJECTED_FILE_NAME);
+        try {
+            Files.createDirectories(spillFolder);
+            Files.writeString(rejectedFile, records + "\n", StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND);
+            logger.warn("InfluxDB rejected {} points, moved them to {}", points.size(), rejectedFile);
+            logger.debug("Rejected points: {}", records);
+        } catch (IOException e) {
+            logger.warn("InfluxDB rejected {} points, dropped them: {}", points.size(), e.getMessage());
+            logger.debug("Dropped points: {}", records);
+        }
+    }
+
+    private void delayRetry() {
+        nextRetry = Instant.now().plusSeconds(retryInterval);
+        retryInterval = Math.min(retryInterval * 2, MAX_RETRY_INTERVAL);
+    }
+
+    public InfluxDBPointQueue getPointsQueue() {
+        return pointsQueue;
+    }
+
+    public InfluxDBBatchPolicy getBatchPolicy() {
+        return batchPolicy;
+    }
+
+    /**
+     * Get the time of the next attempt to write the queued points after a failure.
+     *
+     * @return the time or <code>null</code> if the last attempt was successful
+     */
+    public @Nullable Instant getNextRetry() {
+        return Instant.MIN.equals(nextRetry) ? null : nextRetry;
     }
 
     /**
@@ -0,0 +1,97 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * The {@link InfluxDBBatchPolicy} decides when queued points are written and how many points are written at once.
+ *
+ * The batch size is doubled while full batches are written faster than the target latency and halved when a write
+ * takes longer. The flush interval follows the rate points are stored at, so that a flush writes about one batch,
+ * but points are never held back longer than the maximum flush interval. A full batch is written immediately.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class InfluxDBBatchPolicy {
+    public static final int MIN_BATCH_SIZE = 100;
+    public static final int MAX_BATCH_SIZE = 10000;
+    public static final long MIN_FLUSH_INTERVAL = 1000; // in ms
+    // points were written at least every 3 seconds before the flush interval adapted to the rate
+    public static final long MAX_FLUSH_INTERVAL = 3000; // in ms
+
+    private static final int INITIAL_BATCH_SIZE = 1000;
+    private static final long INITIAL_FLUSH_INTERVAL = MAX_FLUSH_INTERVAL; // in ms
+    private static final long TARGET_LATENCY = 1000; // in ms
+    private static final double RATE_WEIGHT = 0.3;
+
+    private int batchSize = INITIAL_BATCH_SIZE;
+    private long flushInterval = INITIAL_FLUSH_INTERVAL;
+    private long lastFlush;
+    private double rate = 0; // in points per ms
+
+    public InfluxDBBatchPolicy(long now) {
+        this.lastFlush = now;
+    }
+
+    /**
+     * Check if the queued points should be written now.
+     *
+     * @param queued number of queued points
+     * @param now current time in ms
+     */
+    public synchronized boolean isFlushDue(int queued, long now) {
+        return queued >= batchSize || (queued > 0 && now - lastFlush >= flushInterval);
+    }
+
+    /**
+     * Adapts the batch size to the time it took to write a batch.
+     *
+     * @param points number of points written
+     * @param latency time in ms it took to write them
+     */
+    public synchronized void onBatchWritten(int points, long latency) {
+        if (latency > TARGET_LATENCY) {
+            batchSize = Math.max(MIN_BATCH_SIZE, batchSize / 2);
+        } else if (points >= batchSize && latency < TARGET_LATENCY / 2) {
+            batchSize = Math.min(MAX_BATCH_SIZE, batchSize * 2);
+        }
+    }
+
+    /**
+     * Adapts the flush interval to the rate points are stored at.
+     *
+     * @param points number of points written since the last flush
+     * @param now current time in ms
+     */
+    public synchronized void onFlushed(int points, long now) {
+        long elapsed = now - lastFlush;
+        lastFlush = now;
+        if (elapsed <= 0) {
+            return;
+        }
+        double currentRate = (double) points / elapsed;
+        rate = rate == 0 ? currentRate : RATE_WEIGHT * currentRate + (1 - RATE_WEIGHT) * rate;
+        long interval = rate > 0 ? (long) (batchSize / rate) : MAX_FLUSH_INTERVAL;
+        flushInterval = Math.max(MIN_FLUSH_INTERVAL, Math.min(MAX_FLUSH_INTERVAL, interval));
+    }
+
+    public synchronized int getBatchSize() {
+        return batchSize;
+    }
+
+    public synchronized long getFlushInterval() {
+        return flushInterval;
+    }
+}
@@ -0,0 +1,136 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import static org.openhab.persistence.influxdb.internal.InfluxDBConstants.FIELD_VALUE_NAME;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link InfluxDBLineProtocolEncoder} encodes {@link InfluxPoint}s in the
+ * <a href="https://docs.influxdata.com/influxdb/v2/reference/syntax/line-protocol/">InfluxDB line protocol</a>
+ * with millisecond precision, which is understood by InfluxDB 1.X and 2.X.
+ *
+ * All points of a batch are encoded into one buffer, which is reused for the next batch, instead of creating
+ * intermediate client point objects for every point.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class InfluxDBLineProtocolEncoder {
+    private static final int INITIAL_CAPACITY = 64 * 1024;
+    private static final int MAX_RETAINED_CAPACITY = 4 * 1024 * 1024;
+
+    private final Logger logger = LoggerFactory.getLogger(InfluxDBLineProtocolEncoder.class);
+
+    private StringBuilder buffer = new StringBuilder(INITIAL_CAPACITY);
+
+    /**
+     * Encodes points, one line per point. Points with values which can not be stored are skipped.
+     *
+     * @param points the points to encode
+     * @return the encoded points
+     */
+    public synchronized String encode(List<InfluxPoint> points) {
+        if (buffer.capacity() > MAX_RETAINED_CAPACITY) {
+            // do not keep the memory of an exceptionally large batch
+            buffer = new StringBuilder(INITIAL_CAPACITY);
+        }
+        buffer.setLength(0);
+        for (InfluxPoint point : points) {
+            int start = buffer.length();
+            if (!append(buffer, point)) {
+                buffer.setLength(start);
+                logger.warn("Could not convert {}, discarding this datapoint", point);
+            }
+        }
+        return buffer.toString();
+    }
+
+    private boolean append(StringBuilder sb, InfluxPoint point) {
+        if (sb.length() > 0) {
+            sb.append('\n');
+        }
+        appendEscaped(sb, point.getMeasurementName(), false);
+        for (Map.Entry<String, String> tag : point.getTags().entrySet()) {
+            // empty tag values are not allowed
+            if (!tag.getKey().isEmpty() && !tag.getValue().isEmpty()) {
+                sb.append(',');
+                appendEscaped(sb, tag.getKey(), true);
+                sb.append('=');
+                appendEscaped(sb, tag.getValue(), true);
+            }
+        }
+        sb.append(' ').append(FIELD_VALUE_NAME).append('=');
+        if (!appendValue(sb, point.getValue())) {
+            return false;
+        }
+        sb.append(' ').append(point.getTime().toEpochMilli());
+        return true;
+    }
+
+    private boolean appendValue(StringBuilder sb, Object value) {
+        if (value instanceof String string) {
+            sb.append('"');
+            for (int i = 0; i < string.length(); i++) {
+                char c = string.charAt(i);
+                if (c == '"' || c == '\\') {
+                    sb.append('\\');
+                }
+                sb.append(c);
+            }
+            sb.append('"');
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short
+                || value instanceof Byte || value instanceof BigInteger) {
+            // integer field
+            sb.append(value).append('i');
+        } else if (value instanceof BigDecimal decimal) {
+            sb.append(decimal.toPlainString());
+        } else if (value instanceof Number number) {
+            double doubleValue = number.doubleValue();
+            if (Double.isNaN(doubleValue) || Double.isInfinite(doubleValue)) {
+                return false;
+            }
+            sb.append(BigDecimal.valueOf(doubleValue).toPlainString());
+        } else if (value instanceof Boolean bool) {
+            sb.append(bool.booleanValue());
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Escapes commas and spaces, and for tags also equal signs. Line breaks are not allowed and replaced by a space.
+     */
+    private void appendEscaped(StringBuilder sb, String value, boolean isTag) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\n' || c == '\r') {
+                sb.append("\\ ");
+                continue;
+            }
+            if (c == ',' || c == ' ' || (isTag && c == '=')) {
+                sb.append('\\');
+            }
+            sb.append(c);
+        }
+    }
+}
@@ -0,0 +1,433 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link InfluxDBPointQueue} holds the points waiting to be written to the database.
+ *
+ * Up to <code>maxSize</code> points are kept in memory. Further points are appended to segment files in the spill
+ * folder, each holding at most <code>maxSize</code> points. Once the points in memory have been written, the oldest
+ * segment is loaded, so points are always returned in the order they were added. Points which have not been written
+ * when the queue is closed are kept in the spill folder and returned after the next start.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class InfluxDBPointQueue {
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".dat";
+
+    private static final byte TYPE_STRING = 'S';
+    private static final byte TYPE_DECIMAL = 'N';
+    private static final byte TYPE_INTEGER = 'I';
+    private static final byte TYPE_LONG = 'L';
+    private static final byte TYPE_DOUBLE = 'F';
+    private static final byte TYPE_BOOLEAN = 'B';
+
+    private final Logger logger = LoggerFactory.getLogger(InfluxDBPointQueue.class);
+
+    private final Path spillFolder;
+    private final int maxSize;
+
+    private final Deque<InfluxPoint> points = new ArrayDeque<>();
+    // segment files not loaded yet, oldest first
+    private final Deque<Path> segments = new ArrayDeque<>();
+    // segment file the points in memory have been loaded from, deleted when all of them have been written
+    private @Nullable Path loadedSegment;
+    private @Nullable DataOutputStream segmentWriter;
+    private int segmentSize = 0;
+    private long nextSegmentNumber = 0;
+    private long spilledCount = 0;
+    private long droppedCount = 0;
+
+    /**
+     * Creates a new queue and picks up the points left in the spill folder.
+     *
+     * @param spillFolder folder for the segment files, created when the first point is spilled
+     * @param maxSize maximum number of points kept in memory
+     */
+    public InfluxDBPointQueue(Path spillFolder, int maxSize) {
+        this.spillFolder = spillFolder;
+        this.maxSize = Math.max(1, maxSize);
+        if (Files.isDirectory(spillFolder)) {
+            try (Stream<Path> files = Files.list(spillFolder)) {
+                files.filter(InfluxDBPointQueue::isSegment)
+                        .sorted(Comparator.comparingLong(InfluxDBPointQueue::segmentNumber)).forEach(segments::add);
+            } catch (IOException e) {
+                logger.warn("Failed to read spill folder {}: {}", spillFolder, e.getMessage());
+            }
+            Path last = segments.peekLast();
+            nextSegmentNumber = last == null ? 0 : segmentNumber(last) + 1;
+            if (!segments.isEmpty()) {
+                logger.info("Found {} segments with points not written to InfluxDB yet.", segments.size());
+            }
+        }
+    }
+
+    /**
+     * Adds a point to the queue.
+     *
+     * @return <code>false</code> if the point has been dropped because it could not be spilled
+     */
+    public synchronized boolean offer(InfluxPoint point) {
+        if (!isSpilling() && points.size() < maxSize) {
+            points.add(point);
+            return true;
+        }
+        try {
+            spill(point);
+            spilledCount++;
+            return true;
+        } catch (IOException e) {
+            droppedCount++;
+            logger.warn("Failed to spill point to {}, dropping it: {}", spillFolder, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Returns the oldest points without removing them. Call {@link #remove(int)} once they have been written.
+     *
+     * @param max maximum number of points returned
+     */
+    public synchronized List<InfluxPoint> peek(int max) {
+        flushSegment();
+        if (points.isEmpty()) {
+            loadNextSegment();
+        }
+        List<InfluxPoint> result = new ArrayList<>(Math.min(max, points.size()));
+        Iterator<InfluxPoint> iterator = points.iterator();
+        while (iterator.hasNext() && result.size() < max) {
+            result.add(iterator.next());
+        }
+        return result;
+    }
+
+    /**
+     * Removes the oldest points.
+     *
+     * @param count number of points to remove
+     */
+    public synchronized void remove(int count) {
+        for (int i = 0; i < count && !points.isEmpty(); i++) {
+            points.poll();
+        }
+        Path loadedSegment = this.loadedSegment;
+        if (points.isEmpty() && loadedSegment != null) {
+            try {
+                Files.deleteIfExists(loadedSegment);
+            } catch (IOException e) {
+                logger.warn("Failed to delete segment {}: {}", loadedSegment, e.getMessage());
+            }
+            this.loadedSegment = null;
+        }
+    }
+
+    /**
+     * Writes all points in memory to the spill folder, so they are not lost when the service is stopped.
+     */
+    public synchronized void close() {
+        closeSegment();
+        if (points.isEmpty()) {
+            return;
+        }
+        Path loadedSegment = this.loadedSegment;
+        try {
+            if (loadedSegment != null) {
+                // replace the segment by the points of it which have not been written yet
+                Path temp = spillFolder.resolve(loadedSegment.getFileName() + ".tmp");
+                writeSegment(temp, points);
+                Files.move(temp, loadedSegment, StandardCopyOption.REPLACE_EXISTING);
+            } else {
+                // the points in memory are older than all spilled points
+                Path first = segments.peekFirst();
+                long number = first == null ? nextSegmentNumber : segmentNumber(first) - 1;
+                Files.createDirectories(spillFolder);
+                writeSegment(segmentPath(number), points);
+            }
+            logger.info("Kept {} points not written to InfluxDB for the next start.", points.size());
+            points.clear();
+            this.loadedSegment = null;
+        } catch (IOException e) {
+            logger.warn("Failed to keep {} points not written to InfluxDB: {}", points.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Get number of points in memory.
+     */
+    public synchronized int getSize() {
+        return points.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Get number of segment files in the spill folder.
+     */
+    public synchronized int getSegmentCount() {
+        return segments.size() + (loadedSegment != null ? 1 : 0) + (segmentWriter != null ? 1 : 0);
+    }
+
+    /**
+     * Get size of all segment files in the spill folder in bytes.
+     */
+    public synchronized long getSpillSize() {
+        flushSegment();
+        if (!Files.isDirectory(spillFolder)) {
+            return 0;
+        }
+        try (Stream<Path> files = Files.list(spillFolder)) {
+            return files.filter(InfluxDBPointQueue::isSegment).mapToLong(file -> {
+                try {
+                    return Files.size(file);
+                } catch (IOException e) {
+                    return 0;
+                }
+            }).sum();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    public synchronized long getSpilledCount() {
+        return spilledCount;
+    }
+
+    public synchronized long getDroppedCount() {
+        return droppedCount;
+    }
+
+    /**
+     * Check if points have been spilled to disk and are not written yet.
+     */
+    public synchronized boolean isSpilling() {
+        return loadedSegment != null || !segments.isEmpty() || segmentWriter != null;
+    }
+
+    private void spill(InfluxPoint point) throws IOException {
+        DataOutputStream segmentWriter = this.segmentWriter;
+        if (segmentWriter == null) {
+            if (!isSpilling()) {
+                logger.warn("InfluxDB write queue is full ({} points), spilling points to {}", maxSize, spillFolder);
+            }
+            Files.createDirectories(spillFolder);
+            OutputStream out = Files.newOutputStream(segmentPath(nextSegmentNumber++), StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND);
+            segmentWriter = new DataOutputStream(new BufferedOutputStream(out));
+            this.segmentWriter = segmentWriter;
+            segmentSize = 0;
+        }
+        writePoint(segmentWriter, point);
+        if (++segmentSize >= maxSize) {
+            closeSegment();
+        }
+    }
+
+    private void flushSegment() {
+        DataOutputStream segmentWriter = this.segmentWriter;
+        if (segmentWriter != null) {
+            try {
+                segmentWriter.flush();
+            } catch (IOException e) {
+                logger.warn("Failed to flush segment: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void closeSegment() {
+        DataOutputStream segmentWriter = this.segmentWriter;
+        if (segmentWriter != null) {
+            try {
+                segmentWriter.close();
+            } catch (IOException e) {
+                logger.warn("Failed to close segment: {}", e.getMessage());
+            }
+            segments.add(segmentPath(nextSegmentNumber - 1));
+            this.segmentWriter = null;
+        }
+    }
+
+    private void loadNextSegment() {
+        if (segments.isEmpty()) {
+            // the segment currently written to is the last one
+            closeSegment();
+        }
+        while (points.isEmpty()) {
+            Path segment = segments.poll();
+            if (segment == null) {
+                return;
+            }
+            readSegment(segment);
+            loadedSegment = segment;
+            if (points.isEmpty()) {
+                remove(0);
+            }
+        }
+    }
+
+    private void readSegment(Path segment) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(segment)))) {
+            while (true) {
+                InfluxPoint point = readPoint(in);
+                if (point == null) {
+                    break;
+                }
+                points.add(point);
+            }
+        } catch (EOFException e) {
+            logger.warn("Segment {} is truncated, {} points recovered", segment, points.size());
+        } catch (IOException e) {
+            logger.warn("Failed to read segment {}, {} points recovered: {}", segment, points.size(), e.getMessage());
+        }
+        logger.debug("Loaded {} points from segment {}", points.size(), segment);
+    }
+
+    private void writeSegment(Path path, Iterable<InfluxPoint> points) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            for (InfluxPoint point : points) {
+                writePoint(out, point);
+            }
+        }
+    }
+
+    private Path segmentPath(long number) {
+        return spillFolder.resolve(SEGMENT_PREFIX + number + SEGMENT_SUFFIX);
+    }
+
+    private static boolean isSegment(Path path) {
+        return segmentNumber(path) != Long.MIN_VALUE;
+    }
+
+    /**
+     * Get the number of a segment file, segments are loaded in the order of their numbers.
+     *
+     * @return the number or {@link Long#MIN_VALUE} if the file is not a segment
+     */
+    private static long segmentNumber(Path path) {
+        String name = path.getFileName().toString();
+        if (!name.startsWith(SEGMENT_PREFIX) || !name.endsWith(SEGMENT_SUFFIX)) {
+            return Long.MIN_VALUE;
+        }
+        try {
+            return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return Long.MIN_VALUE;
+        }
+    }
+
+    static void writePoint(DataOutputStream out, InfluxPoint point) throws IOException {
+        out.writeUTF(point.getMeasurementName());
+        out.writeLong(point.getTime().getEpochSecond());
+        out.writeInt(point.getTime().getNano());
+        Object value = point.getValue();
+        if (value instanceof Integer integer) {
+            out.writeByte(TYPE_INTEGER);
+            out.writeInt(integer);
+        } else if (value instanceof Long longValue) {
+            out.writeByte(TYPE_LONG);
+            out.writeLong(longValue);
+        } else if (value instanceof Double doubleValue) {
+            out.writeByte(TYPE_DOUBLE);
+            out.writeDouble(doubleValue);
+        } else if (value instanceof Number number) {
+            out.writeByte(TYPE_DECIMAL);
+            out.writeUTF(number.toString());
+        } else if (value instanceof Boolean bool) {
+            out.writeByte(TYPE_BOOLEAN);
+            out.writeBoolean(bool);
+        } else {
+            byte[] bytes = String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+            out.writeByte(TYPE_STRING);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+        Map<String, String> tags = point.getTags();
+        out.writeInt(tags.size());
+        for (Map.Entry<String, String> tag : tags.entrySet()) {
+            out.writeUTF(tag.getKey());
+            out.writeUTF(tag.getValue());
+        }
+    }
+
+    /**
+     * Reads a point.
+     *
+     * @return the point or <code>null</code> at the end of the stream
+     * @throws EOFException if the stream ends within a point
+     */
+    static @Nullable InfluxPoint readPoint(DataInputStream in) throws IOException {
+        String measurementName;
+        try {
+            measurementName = in.readUTF();
+        } catch (EOFException e) {
+            return null;
+        }
+        InfluxPoint.Builder builder = InfluxPoint.newBuilder(measurementName)
+                .withTime(Instant.ofEpochSecond(in.readLong(), in.readInt()));
+        byte type = in.readByte();
+        switch (type) {
+            case TYPE_INTEGER -> builder.withValue(in.readInt());
+            case TYPE_LONG -> builder.withValue(in.readLong());
+            case TYPE_DOUBLE -> builder.withValue(in.readDouble());
+            case TYPE_DECIMAL -> builder.withValue(new BigDecimal(in.readUTF()));
+            case TYPE_BOOLEAN -> builder.withValue(in.readBoolean());
+            case TYPE_STRING -> builder.withValue(new String(readBytes(in, in.readInt()), StandardCharsets.UTF_8));
+            default -> throw new IOException("Unknown value type " + type);
+        }
+        int tagCount = in.readInt();
+        for (int i = 0; i < tagCount; i++) {
+            builder.withTag(in.readUTF(), in.readUTF());
+        }
+        return builder.build();
+    }
+
+    private static byte[] readBytes(InputStream in, int length) throws IOException {
+        byte[] bytes = in.readNBytes(length);
+        if (bytes.length != length) {
+            throw new EOFException();
+        }
+        return bytes;
+    }
+}
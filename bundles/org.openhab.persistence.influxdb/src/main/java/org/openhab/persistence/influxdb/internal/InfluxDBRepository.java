@@ -72,9 +72,10 @@ public interface InfluxDBRepository {
      * Write points to database
      *
      * @param influxPoints {@link List<InfluxPoint>} to write
-     * @return <code>true</code> if points have been written, <code>false</code> otherwise
+     * @return {@link WriteResult#WRITTEN} if points have been written, otherwise whether writing them again may
+     *         succeed
      */
-    boolean write(List<InfluxPoint> influxPoints);
+    WriteResult write(List<InfluxPoint> influxPoints);
 
     /**
      * Execute delete query
@@ -86,4 +87,21 @@ public interface InfluxDBRepository {
 
     record InfluxRow(Instant time, String itemName, Object value) {
     }
+
+    enum WriteResult {
+        /**
+         * The points have been written.
+         */
+        WRITTEN,
+        /**
+         * The points have not been written, e.g. because the database is not reachable, and should be written again
+         * later.
+         */
+        FAILED,
+        /**
+         * The database rejected the points, e.g. because of a field type conflict. Writing them again would fail
+         * again.
+         */
+        REJECTED
+    }
 }
@@ -12,6 +12,8 @@
  */
 package org.openhab.persistence.influxdb;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -23,11 +25,16 @@ import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.UR
 import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.USER_PARAM;
 import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.VERSION_PARAM;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
 import java.util.Map;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
@@ -36,6 +43,7 @@ import org.openhab.core.items.ItemRegistry;
 import org.openhab.core.items.MetadataRegistry;
 import org.openhab.persistence.influxdb.internal.InfluxDBMetadataService;
 import org.openhab.persistence.influxdb.internal.InfluxDBRepository;
+import org.openhab.persistence.influxdb.internal.InfluxDBRepository.WriteResult;
 import org.openhab.persistence.influxdb.internal.InfluxDBVersion;
 import org.openhab.persistence.influxdb.internal.ItemTestHelper;
 import org.openhab.persistence.influxdb.internal.UnexpectedConditionException;
@@ -75,6 +83,7 @@ public class InfluxDBPersistenceServiceTest {
             RETENTION_POLICY_PARAM, "default");
 
     private @Mock @NonNullByDefault({}) InfluxDBRepository influxDBRepositoryMock;
+    private @TempDir @NonNullByDefault({}) Path spillFolder;
 
     private final InfluxDBMetadataService influxDBMetadataService = new InfluxDBMetadataService(
             mock(MetadataRegistry.class));
@@ -112,6 +121,7 @@ public class InfluxDBPersistenceServiceTest {
     public void storeItemWithConnectedRepository() throws UnexpectedConditionException {
         InfluxDBPersistenceService instance = getService(VALID_V2_CONFIGURATION);
         when(influxDBRepositoryMock.isConnected()).thenReturn(true);
+        when(influxDBRepositoryMock.write(any())).thenReturn(WriteResult.WRITTEN);
         instance.store(ItemTestHelper.createNumberItem("number", 5));
         verify(influxDBRepositoryMock, timeout(5000)).write(any());
     }
@@ -124,8 +134,23 @@ public class InfluxDBPersistenceServiceTest {
         verify(influxDBRepositoryMock, never()).write(any());
     }
 
+    @Test
+    public void rejectedItemIsMovedToRejectedFile() throws UnexpectedConditionException, IOException {
+        InfluxDBPersistenceService instance = getService(VALID_V2_CONFIGURATION);
+        when(influxDBRepositoryMock.isConnected()).thenReturn(true);
+        when(influxDBRepositoryMock.write(any())).thenReturn(WriteResult.REJECTED);
+        instance.store(ItemTestHelper.createNumberItem("number", 5));
+        verify(influxDBRepositoryMock, timeout(5000)).write(any());
+        // waits for the running commit
+        instance.deactivate();
+
+        List<String> lines = Files.readAllLines(spillFolder.resolve("rejected.lp"));
+        assertThat(lines, contains(startsWith("number")));
+    }
+
     private InfluxDBPersistenceService getService(Map<String, Object> config) {
-        return new InfluxDBPersistenceService(mock(ItemRegistry.class), influxDBMetadataService, config) {
+        return new InfluxDBPersistenceService(mock(ItemRegistry.class), influxDBMetadataService, config,
+                spillFolder) {
             @Override
             protected InfluxDBRepository createInfluxDBRepository() {
                 return influxDBRepositoryMock;
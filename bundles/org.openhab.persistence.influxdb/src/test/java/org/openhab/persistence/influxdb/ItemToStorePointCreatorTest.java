@@ -18,6 +18,7 @@ import static org.mockito.Mockito.when;
 import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.*;
 
 import java.math.BigDecimal;
+import java.nio.file.Path;
 import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
@@ -30,6 +31,7 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.Mock;
@@ -64,6 +66,7 @@ public class ItemToStorePointCreatorTest {
     private @Mock UnitProvider unitProviderMock;
     private @Mock ItemRegistry itemRegistryMock;
     private @Mock MetadataRegistry metadataRegistry;
+    private @TempDir Path spillFolder;
     private InfluxDBPersistenceService instance;
 
     @BeforeEach
@@ -256,7 +259,7 @@ public class ItemToStorePointCreatorTest {
         configuration.put(ADD_TYPE_TAG_PARAM, typeTag);
 
         InfluxDBPersistenceService instance = new InfluxDBPersistenceService(itemRegistryMock, influxDBMetadataService,
-                configuration);
+                configuration, spillFolder);
         instance.setItemFactory(new CoreItemFactory(unitProviderMock));
 
         return instance;
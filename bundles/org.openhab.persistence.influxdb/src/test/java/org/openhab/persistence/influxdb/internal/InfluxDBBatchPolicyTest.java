@@ -0,0 +1,85 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class InfluxDBBatchPolicyTest {
+
+    @Test
+    public void fullBatchIsWrittenImmediately() {
+        InfluxDBBatchPolicy policy = new InfluxDBBatchPolicy(0);
+
+        assertThat(policy.isFlushDue(0, 100), is(false));
+        assertThat(policy.isFlushDue(1, 100), is(false));
+        assertThat(policy.isFlushDue(policy.getBatchSize(), 100), is(true));
+        assertThat(policy.isFlushDue(1, policy.getFlushInterval()), is(true));
+    }
+
+    @Test
+    public void batchSizeFollowsLatency() {
+        InfluxDBBatchPolicy policy = new InfluxDBBatchPolicy(0);
+        int batchSize = policy.getBatchSize();
+
+        policy.onBatchWritten(batchSize, 10);
+        assertThat(policy.getBatchSize(), is(batchSize * 2));
+
+        // batches which are not full do not increase the batch size
+        policy.onBatchWritten(10, 10);
+        assertThat(policy.getBatchSize(), is(batchSize * 2));
+
+        policy.onBatchWritten(batchSize * 2, 5000);
+        assertThat(policy.getBatchSize(), is(batchSize));
+
+        for (int i = 0; i < 20; i++) {
+            policy.onBatchWritten(policy.getBatchSize(), 5000);
+        }
+        assertThat(policy.getBatchSize(), is(InfluxDBBatchPolicy.MIN_BATCH_SIZE));
+        for (int i = 0; i < 20; i++) {
+            policy.onBatchWritten(policy.getBatchSize(), 10);
+        }
+        assertThat(policy.getBatchSize(), is(InfluxDBBatchPolicy.MAX_BATCH_SIZE));
+    }
+
+    @Test
+    public void flushIntervalFollowsRate() {
+        InfluxDBBatchPolicy policy = new InfluxDBBatchPolicy(0);
+
+        // few points are written with the maximum interval
+        policy.onFlushed(1, 1000);
+        assertThat(policy.getFlushInterval(), is(InfluxDBBatchPolicy.MAX_FLUSH_INTERVAL));
+
+        // many points are written as often as possible
+        long now = 1000;
+        for (int i = 0; i < 20; i++) {
+            now += 1000;
+            policy.onFlushed(10000, now);
+        }
+        assertThat(policy.getFlushInterval(), is(InfluxDBBatchPolicy.MIN_FLUSH_INTERVAL));
+
+        // in between, a flush writes about one batch
+        for (int i = 0; i < 50; i++) {
+            now += 1000;
+            policy.onFlushed(policy.getBatchSize() / 2, now);
+        }
+        assertThat(policy.getFlushInterval(), is(both(greaterThan(1900L)).and(lessThan(2100L))));
+    }
+}
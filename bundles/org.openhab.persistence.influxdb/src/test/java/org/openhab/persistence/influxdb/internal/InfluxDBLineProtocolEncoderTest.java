@@ -0,0 +1,85 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class InfluxDBLineProtocolEncoderTest {
+    private static final Instant TIME = Instant.ofEpochMilli(1700000000123L);
+
+    private final InfluxDBLineProtocolEncoder encoder = new InfluxDBLineProtocolEncoder();
+
+    @Test
+    public void valuesAreEncodedWithTheirType() {
+        assertThat(encode(new BigDecimal("21.50")), is("item value=21.50 1700000000123"));
+        assertThat(encode(new BigDecimal("1E+3")), is("item value=1000 1700000000123"));
+        assertThat(encode(1), is("item value=1i 1700000000123"));
+        assertThat(encode(1700000000123L), is("item value=1700000000123i 1700000000123"));
+        assertThat(encode(0.5d), is("item value=0.5 1700000000123"));
+        assertThat(encode(true), is("item value=true 1700000000123"));
+        assertThat(encode("on \"top\" \\"), is("item value=\"on \\\"top\\\" \\\\\" 1700000000123"));
+    }
+
+    @Test
+    public void tagsAreSortedAndEscaped() {
+        InfluxPoint point = InfluxPoint.newBuilder("living room,temp").withTime(TIME).withValue(1)
+                .withTag("item", "Living_Temp").withTag("floor", "first floor").withTag("a=b", "c,d")
+                .withTag("empty", "").build();
+
+        assertThat(encoder.encode(List.of(point)),
+                is("living\\ room\\,temp,a\\=b=c\\,d,floor=first\\ floor,item=Living_Temp value=1i 1700000000123"));
+    }
+
+    @Test
+    public void pointsAreSeparatedByNewLines() {
+        List<InfluxPoint> points = List.of(point(1), point(2), point(3));
+
+        assertThat(encoder.encode(points), is("item value=1i 1700000000123\nitem value=2i 1700000000123\n"
+                + "item value=3i 1700000000123"));
+    }
+
+    @Test
+    public void pointsWithUnsupportedValuesAreSkipped() {
+        List<InfluxPoint> points = List.of(point(Double.NaN), point(1), point(new Object()));
+
+        assertThat(encoder.encode(points), is("item value=1i 1700000000123"));
+        assertThat(encoder.encode(List.of(point(Double.NaN))), is(emptyString()));
+    }
+
+    @Test
+    public void bufferIsReused() {
+        encoder.encode(List.of(point(1), point(2)));
+
+        assertThat(encoder.encode(List.of(point(3))), is("item value=3i 1700000000123"));
+    }
+
+    private String encode(Object value) {
+        return encoder.encode(List.of(point(value)));
+    }
+
+    private static InfluxPoint point(Object value) {
+        return InfluxPoint.newBuilder("item").withTime(TIME).withValue(value).build();
+    }
+}
@@ -0,0 +1,145 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class InfluxDBPointQueueTest {
+    private @TempDir @NonNullByDefault({}) Path spillFolder;
+
+    @Test
+    public void pointsAreKeptInMemoryUntilFull() {
+        InfluxDBPointQueue queue = new InfluxDBPointQueue(spillFolder, 3);
+        for (int i = 0; i < 3; i++) {
+            queue.offer(point(i));
+        }
+
+        assertThat(queue.getSize(), is(3));
+        assertThat(queue.getSegmentCount(), is(0));
+        assertThat(values(queue.peek(2)), contains(0L, 1L));
+
+        queue.remove(2);
+        assertThat(values(queue.peek(10)), contains(2L));
+    }
+
+    @Test
+    public void spilledPointsAreReturnedInOrder() {
+        InfluxDBPointQueue queue = new InfluxDBPointQueue(spillFolder, 2);
+        for (int i = 0; i < 7; i++) {
+            queue.offer(point(i));
+        }
+
+        assertThat(queue.getSize(), is(2));
+        assertThat(queue.getSpilledCount(), is(5L));
+        assertThat(queue.getSegmentCount(), is(3));
+        assertThat(drain(queue), contains(0L, 1L, 2L, 3L, 4L, 5L, 6L));
+        assertThat(queue.getSegmentCount(), is(0));
+        assertThat(queue.getSpillSize(), is(0L));
+    }
+
+    @Test
+    public void pointsAreAddedAfterSpilledPoints() {
+        InfluxDBPointQueue queue = new InfluxDBPointQueue(spillFolder, 2);
+        for (int i = 0; i < 3; i++) {
+            queue.offer(point(i));
+        }
+        queue.remove(queue.peek(10).size());
+        queue.offer(point(3));
+
+        assertThat(drain(queue), contains(2L, 3L));
+    }
+
+    @Test
+    public void pointsSurviveRestart() {
+        InfluxDBPointQueue queue = new InfluxDBPointQueue(spillFolder, 2);
+        for (int i = 0; i < 5; i++) {
+            queue.offer(point(i));
+        }
+        // write some of the points loaded from the first segment
+        queue.remove(queue.peek(10).size());
+        queue.peek(10);
+        queue.remove(1);
+        queue.close();
+
+        InfluxDBPointQueue restartedQueue = new InfluxDBPointQueue(spillFolder, 2);
+        assertThat(drain(restartedQueue), contains(3L, 4L));
+    }
+
+    @Test
+    public void pointsInMemorySurviveRestart() {
+        InfluxDBPointQueue queue = new InfluxDBPointQueue(spillFolder, 2);
+        for (int i = 0; i < 3; i++) {
+            queue.offer(point(i));
+        }
+        queue.close();
+
+        InfluxDBPointQueue restartedQueue = new InfluxDBPointQueue(spillFolder, 2);
+        assertThat(drain(restartedQueue), contains(0L, 1L, 2L));
+    }
+
+    @Test
+    public void pointsAreRestoredCompletely() {
+        InfluxDBPointQueue queue = new InfluxDBPointQueue(spillFolder, 1);
+        Instant time = Instant.ofEpochSecond(1700000000, 123456789);
+        queue.offer(point(0));
+        queue.offer(InfluxPoint.newBuilder("measurement").withTime(time).withValue(new BigDecimal("21.5"))
+                .withTag("item", "temperature").withTag("floor", "first").build());
+        queue.offer(InfluxPoint.newBuilder("text").withTime(time).withValue("täst").build());
+        queue.offer(InfluxPoint.newBuilder("switch").withTime(time).withValue(1).build());
+        queue.remove(1);
+
+        InfluxPoint decimalPoint = queue.peek(1).get(0);
+        assertThat(decimalPoint.getMeasurementName(), is("measurement"));
+        assertThat(decimalPoint.getTime(), is(time));
+        assertThat(decimalPoint.getValue(), is(new BigDecimal("21.5")));
+        assertThat(decimalPoint.getTags(), allOf(hasEntry("item", "temperature"), hasEntry("floor", "first")));
+        queue.remove(1);
+        assertThat(queue.peek(1).get(0).getValue(), is("täst"));
+        queue.remove(1);
+        assertThat(queue.peek(1).get(0).getValue(), is(1));
+    }
+
+    private static InfluxPoint point(long value) {
+        return InfluxPoint.newBuilder("item").withTime(Instant.ofEpochSecond(value)).withValue(value).build();
+    }
+
+    private static List<Object> values(List<InfluxPoint> points) {
+        return points.stream().map(InfluxPoint::getValue).collect(Collectors.toList());
+    }
+
+    private static List<Object> drain(InfluxDBPointQueue queue) {
+        List<Object> values = new ArrayList<>();
+        List<InfluxPoint> points;
+        while (!(points = queue.peek(1)).isEmpty()) {
+            values.addAll(values(points));
+            queue.remove(points.size());
+        }
+        return values;
+    }
+}
@@ -0,0 +1,130 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.inmemory.internal;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.function.BiConsumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.persistence.FilterCriteria.Ordering;
+import org.openhab.core.persistence.HistoricItem;
+import org.openhab.core.types.State;
+import org.openhab.core.types.UnDefType;
+
+/**
+ * The {@link EntryDatabase} stores values of any type as entries of a {@link TreeSet}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class EntryDatabase extends PersistDatabase {
+    private final TreeSet<PersistEntry> database = new TreeSet<>(Comparator.comparing(PersistEntry::timestamp));
+
+    @Override
+    boolean add(ZonedDateTime timestamp, State state, long maxEntries) {
+        database.add(new PersistEntry(timestamp, state));
+        trim(maxEntries);
+        return true;
+    }
+
+    @Override
+    void trim(long maxEntries) {
+        while (maxEntries > 0 && database.size() > maxEntries) {
+            database.pollFirst();
+        }
+    }
+
+    @Override
+    void remove(FilterCriteria filter) {
+        range(filter).removeIf(e -> applies(e.timestamp(), e.state(), filter));
+    }
+
+    @Override
+    List<HistoricItem> query(String itemName, FilterCriteria filter) {
+        NavigableSet<PersistEntry> range = range(filter);
+        Iterator<PersistEntry> iterator = filter.getOrdering() == Ordering.ASCENDING ? range.iterator()
+                : range.descendingIterator();
+        long skip = (long) filter.getPageNumber() * filter.getPageSize();
+        int pageSize = filter.getPageSize();
+        List<HistoricItem> result = new ArrayList<>();
+        while (iterator.hasNext() && result.size() < pageSize) {
+            PersistEntry entry = iterator.next();
+            if (!applies(entry.timestamp(), entry.state(), filter)) {
+                continue;
+            }
+            if (skip > 0) {
+                skip--;
+                continue;
+            }
+            result.add(toHistoricItem(itemName, entry.timestamp(), entry.state()));
+        }
+        return result;
+    }
+
+    @Override
+    int size() {
+        return database.size();
+    }
+
+    @Override
+    @Nullable ZonedDateTime first() {
+        return database.isEmpty() ? null : database.first().timestamp();
+    }
+
+    @Override
+    @Nullable ZonedDateTime last() {
+        return database.isEmpty() ? null : database.last().timestamp();
+    }
+
+    @Override
+    void forEach(BiConsumer<ZonedDateTime, State> consumer) {
+        database.forEach(e -> consumer.accept(e.timestamp(), e.state()));
+    }
+
+    /**
+     * Returns a view of all entries between the begin and end date of the filter, so that only these entries need to
+     * be checked against the filter.
+     */
+    private NavigableSet<PersistEntry> range(FilterCriteria filter) {
+        // ZonedDateTime instances with the same instant are ordered by their local time, so the bounds are widened
+        // by one nanosecond, the exact check is done in applies()
+        ZonedDateTime beginDate = filter.getBeginDate();
+        ZonedDateTime endDate = filter.getEndDate();
+        if (beginDate != null && endDate != null) {
+            if (beginDate.isAfter(endDate)) {
+                return new TreeSet<>(database.comparator());
+            }
+            return database.subSet(boundary(beginDate.minusNanos(1)), true, boundary(endDate.plusNanos(1)), true);
+        } else if (beginDate != null) {
+            return database.tailSet(boundary(beginDate.minusNanos(1)), true);
+        } else if (endDate != null) {
+            return database.headSet(boundary(endDate.plusNanos(1)), true);
+        }
+        return database;
+    }
+
+    private PersistEntry boundary(ZonedDateTime timestamp) {
+        return new PersistEntry(timestamp, UnDefType.NULL);
+    }
+
+    private record PersistEntry(ZonedDateTime timestamp, State state) {
+    };
+}
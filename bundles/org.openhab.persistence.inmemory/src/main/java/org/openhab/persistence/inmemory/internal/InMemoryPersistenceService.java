@@ -12,16 +12,13 @@
  */
 package org.openhab.persistence.inmemory.internal;
 
-import java.time.Instant;
 import java.time.ZonedDateTime;
-import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -66,11 +63,14 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
     protected static final String CONFIG_URI = "persistence:inmemory";
     private final String MAX_ENTRIES_CONFIG = "maxEntries";
     private final long MAX_ENTRIES_DEFAULT = 512;
+    private final String COMPACT_STORAGE_CONFIG = "compactStorage";
+    private final boolean COMPACT_STORAGE_DEFAULT = false;
 
     private final Logger logger = LoggerFactory.getLogger(InMemoryPersistenceService.class);
 
     private final Map<String, PersistItem> persistMap = new ConcurrentHashMap<>();
     private long maxEntries = MAX_ENTRIES_DEFAULT;
+    private boolean compactStorage = COMPACT_STORAGE_DEFAULT;
 
     @Activate
     public void activate(Map<String, Object> config) {
@@ -81,14 +81,14 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
     @Modified
     public void modified(Map<String, Object> config) {
         maxEntries = ConfigParser.valueAsOrElse(config.get(MAX_ENTRIES_CONFIG), Long.class, MAX_ENTRIES_DEFAULT);
+        compactStorage = ConfigParser.valueAsOrElse(config.get(COMPACT_STORAGE_CONFIG), Boolean.class,
+                COMPACT_STORAGE_DEFAULT);
 
         persistMap.values().forEach(persistItem -> {
-            Lock lock = persistItem.lock();
+            Lock lock = persistItem.lock;
             lock.lock();
             try {
-                while (persistItem.database().size() > maxEntries) {
-                    persistItem.database().pollFirst();
-                }
+                persistItem.database.trim(maxEntries);
             } finally {
                 lock.unlock();
             }
@@ -148,11 +148,10 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
             return false;
         }
 
-        Lock lock = persistItem.lock();
+        Lock lock = persistItem.lock;
         lock.lock();
         try {
-            List<PersistEntry> toRemove = persistItem.database().stream().filter(e -> applies(e, filter)).toList();
-            toRemove.forEach(persistItem.database()::remove);
+            persistItem.database.remove(filter);
         } finally {
             lock.unlock();
         }
@@ -171,11 +170,10 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
             return List.of();
         }
 
-        Lock lock = persistItem.lock();
+        Lock lock = persistItem.lock;
         lock.lock();
         try {
-            return persistItem.database().stream().filter(e -> applies(e, filter)).map(e -> toHistoricItem(itemName, e))
-                    .toList();
+            return persistItem.database.query(itemName, filter);
         } finally {
             lock.unlock();
         }
@@ -188,13 +186,14 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
     }
 
     private PersistenceItemInfo toItemInfo(Map.Entry<String, PersistItem> itemEntry) {
-        Lock lock = itemEntry.getValue().lock();
+        Lock lock = itemEntry.getValue().lock;
         lock.lock();
         try {
             String name = itemEntry.getKey();
-            Integer count = itemEntry.getValue().database().size();
-            Instant earliest = itemEntry.getValue().database().first().timestamp().toInstant();
-            Instant latest = itemEntry.getValue().database.last().timestamp.toInstant();
+            PersistDatabase database = itemEntry.getValue().database;
+            Integer count = database.size();
+            ZonedDateTime earliest = database.first();
+            ZonedDateTime latest = database.last();
             return new PersistenceItemInfo() {
 
                 @Override
@@ -209,12 +208,12 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
 
                 @Override
                 public @Nullable Date getEarliest() {
-                    return Date.from(earliest);
+                    return earliest == null ? null : Date.from(earliest.toInstant());
                 }
 
                 @Override
                 public @Nullable Date getLatest() {
-                    return Date.from(latest);
+                    return latest == null ? null : Date.from(latest.toInstant());
                 }
             };
         } finally {
@@ -222,95 +221,47 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
         }
     }
 
-    private HistoricItem toHistoricItem(String itemName, PersistEntry entry) {
-        return new HistoricItem() {
-            @Override
-            public ZonedDateTime getTimestamp() {
-                return entry.timestamp();
-            }
-
-            @Override
-            public State getState() {
-                return entry.state();
-            }
-
-            @Override
-            public String getName() {
-                return itemName;
-            }
-        };
-    }
-
     private void internalStore(String itemName, ZonedDateTime timestamp, State state) {
         if (state instanceof UnDefType) {
             return;
         }
 
-        PersistItem persistItem = Objects.requireNonNull(persistMap.computeIfAbsent(itemName,
-                k -> new PersistItem(new TreeSet<>(Comparator.comparing(PersistEntry::timestamp)),
-                        new ReentrantLock())));
+        PersistItem persistItem = Objects
+                .requireNonNull(persistMap.computeIfAbsent(itemName, k -> new PersistItem(createDatabase(state))));
 
-        Lock lock = persistItem.lock();
+        Lock lock = persistItem.lock;
         lock.lock();
         try {
-            persistItem.database().add(new PersistEntry(timestamp, state));
-
-            while (persistItem.database.size() > maxEntries) {
-                persistItem.database().pollFirst();
+            if (!persistItem.database.add(timestamp, state, maxEntries)) {
+                // the compact database can not hold this state, move all values to a generic database
+                logger.debug("Item '{}' received state {} of a different type, switching to generic storage",
+                        itemName, state);
+                PersistDatabase database = new EntryDatabase();
+                persistItem.database.forEach((t, s) -> database.add(t, s, maxEntries));
+                database.add(timestamp, state, maxEntries);
+                persistItem.database = database;
             }
         } finally {
             lock.unlock();
         }
     }
 
-    @SuppressWarnings({ "rawType", "unchecked" })
-    private boolean applies(PersistEntry entry, FilterCriteria filter) {
-        ZonedDateTime beginDate = filter.getBeginDate();
-        if (beginDate != null && entry.timestamp().isBefore(beginDate)) {
-            return false;
-        }
-        ZonedDateTime endDate = filter.getEndDate();
-        if (endDate != null && entry.timestamp().isAfter(endDate)) {
-            return false;
-        }
-
-        State refState = filter.getState();
-        FilterCriteria.Operator operator = filter.getOperator();
-        if (refState == null) {
-            // no state filter
-            return true;
-        }
-
-        if (operator == FilterCriteria.Operator.EQ) {
-            return entry.state().equals(refState);
-        }
-
-        if (operator == FilterCriteria.Operator.NEQ) {
-            return !entry.state().equals(refState);
-        }
-
-        if (entry.state() instanceof Comparable comparableState && entry.state.getClass().equals(refState.getClass())) {
-            if (operator == FilterCriteria.Operator.GT) {
-                return comparableState.compareTo(refState) > 0;
+    private PersistDatabase createDatabase(State state) {
+        if (compactStorage) {
+            PersistDatabase database = NumericDatabase.create(state, maxEntries);
+            if (database != null) {
+                return database;
             }
-            if (operator == FilterCriteria.Operator.GTE) {
-                return comparableState.compareTo(refState) >= 0;
-            }
-            if (operator == FilterCriteria.Operator.LT) {
-                return comparableState.compareTo(refState) < 0;
-            }
-            if (operator == FilterCriteria.Operator.LTE) {
-                return comparableState.compareTo(refState) <= 0;
-            }
-        } else {
-            logger.warn("Using operator {} but state {} is not comparable!", operator, refState);
         }
-        return true;
+        return new EntryDatabase();
     }
 
-    private record PersistEntry(ZonedDateTime timestamp, State state) {
-    };
+    private static class PersistItem {
+        private final Lock lock = new ReentrantLock();
+        private PersistDatabase database;
 
-    private record PersistItem(TreeSet<PersistEntry> database, Lock lock) {
-    };
+        private PersistItem(PersistDatabase database) {
+            this.database = database;
+        }
+    }
 }
@@ -0,0 +1,321 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.inmemory.internal;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import javax.measure.Unit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.OnOffType;
+import org.openhab.core.library.types.PercentType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.persistence.FilterCriteria.Ordering;
+import org.openhab.core.persistence.HistoricItem;
+import org.openhab.core.types.State;
+
+/**
+ * The {@link NumericDatabase} stores numeric values compactly in a ring buffer of primitive arrays, using 16 bytes
+ * per value. {@link HistoricItem}s are only created when the values are queried.
+ *
+ * All values of one database must be of the same type, and for {@link QuantityType}s of the same unit. Values are
+ * stored as <code>double</code>, timestamps with nanosecond precision and returned in the system time zone.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class NumericDatabase extends PersistDatabase {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private enum Kind {
+        DECIMAL,
+        QUANTITY,
+        PERCENT,
+        ON_OFF
+    }
+
+    private final Kind kind;
+    private final @Nullable Unit<?> unit;
+
+    // epoch nanoseconds and values, the oldest value is at index head
+    private long[] timestamps;
+    private double[] values;
+    private int head = 0;
+    private int size = 0;
+
+    private NumericDatabase(Kind kind, @Nullable Unit<?> unit, int capacity) {
+        this.kind = kind;
+        this.unit = unit;
+        this.timestamps = new long[capacity];
+        this.values = new double[capacity];
+    }
+
+    /**
+     * Creates a database for values of the same type as the given state.
+     *
+     * @return the database, or null if the state can not be stored compactly
+     */
+    static @Nullable NumericDatabase create(State state, long maxEntries) {
+        int capacity = maxEntries > 0 ? (int) Math.min(maxEntries, INITIAL_CAPACITY) : INITIAL_CAPACITY;
+        // PercentType is a DecimalType, so it has to be checked first
+        if (state instanceof PercentType) {
+            return new NumericDatabase(Kind.PERCENT, null, capacity);
+        } else if (state instanceof DecimalType) {
+            return new NumericDatabase(Kind.DECIMAL, null, capacity);
+        } else if (state instanceof QuantityType<?> quantityType) {
+            return new NumericDatabase(Kind.QUANTITY, quantityType.getUnit(), capacity);
+        } else if (state instanceof OnOffType) {
+            return new NumericDatabase(Kind.ON_OFF, null, capacity);
+        }
+        return null;
+    }
+
+    @Override
+    boolean add(ZonedDateTime timestamp, State state, long maxEntries) {
+        if (!accepts(state)) {
+            return false;
+        }
+        long time = toEpochNanos(timestamp);
+        int index = lowerBound(time);
+        if (index < size && timestampAt(index) == time) {
+            // keep the existing value, like a set would do
+            return true;
+        }
+        if (size == timestamps.length) {
+            if (maxEntries <= 0 || size < maxEntries) {
+                grow(maxEntries);
+            } else if (index == 0) {
+                // older than all stored values, so it would be removed immediately
+                return true;
+            } else {
+                removeFirst();
+                index--;
+            }
+        }
+        // shift newer values, which is a no-op for the common case of appending the latest value
+        for (int i = size; i > index; i--) {
+            int to = physical(i);
+            int from = physical(i - 1);
+            timestamps[to] = timestamps[from];
+            values[to] = values[from];
+        }
+        timestamps[physical(index)] = time;
+        values[physical(index)] = toDouble(state);
+        size++;
+        trim(maxEntries);
+        return true;
+    }
+
+    @Override
+    void trim(long maxEntries) {
+        while (maxEntries > 0 && size > maxEntries) {
+            removeFirst();
+        }
+    }
+
+    @Override
+    void remove(FilterCriteria filter) {
+        int from = fromIndex(filter);
+        int to = toIndex(filter);
+        long[] newTimestamps = new long[timestamps.length];
+        double[] newValues = new double[values.length];
+        int newSize = 0;
+        for (int i = 0; i < size; i++) {
+            if (i >= from && i < to && applies(timestampOf(i), stateOf(i), filter)) {
+                continue;
+            }
+            newTimestamps[newSize] = timestampAt(i);
+            newValues[newSize] = values[physical(i)];
+            newSize++;
+        }
+        timestamps = newTimestamps;
+        values = newValues;
+        head = 0;
+        size = newSize;
+    }
+
+    @Override
+    List<HistoricItem> query(String itemName, FilterCriteria filter) {
+        int from = fromIndex(filter);
+        int to = toIndex(filter);
+        if (from >= to) {
+            return List.of();
+        }
+        boolean ascending = filter.getOrdering() == Ordering.ASCENDING;
+        long skip = (long) filter.getPageNumber() * filter.getPageSize();
+        int pageSize = filter.getPageSize();
+        List<HistoricItem> result = new ArrayList<>();
+        if (filter.getState() == null) {
+            // all values within the range match, so the page can be located directly
+            long count = Math.min(pageSize, to - from - skip);
+            for (long k = 0; k < count; k++) {
+                int i = (int) (ascending ? from + skip + k : to - 1 - skip - k);
+                result.add(toHistoricItem(itemName, timestampOf(i), stateOf(i)));
+            }
+            return result;
+        }
+        for (int k = 0; k < to - from && result.size() < pageSize; k++) {
+            int i = ascending ? from + k : to - 1 - k;
+            ZonedDateTime timestamp = timestampOf(i);
+            State state = stateOf(i);
+            if (!applies(timestamp, state, filter)) {
+                continue;
+            }
+            if (skip > 0) {
+                skip--;
+                continue;
+            }
+            result.add(toHistoricItem(itemName, timestamp, state));
+        }
+        return result;
+    }
+
+    @Override
+    int size() {
+        return size;
+    }
+
+    @Override
+    @Nullable ZonedDateTime first() {
+        return size == 0 ? null : timestampOf(0);
+    }
+
+    @Override
+    @Nullable ZonedDateTime last() {
+        return size == 0 ? null : timestampOf(size - 1);
+    }
+
+    @Override
+    void forEach(BiConsumer<ZonedDateTime, State> consumer) {
+        for (int i = 0; i < size; i++) {
+            consumer.accept(timestampOf(i), stateOf(i));
+        }
+    }
+
+    private boolean accepts(State state) {
+        return switch (kind) {
+            case PERCENT -> state instanceof PercentType;
+            case DECIMAL -> state instanceof DecimalType && !(state instanceof PercentType);
+            case QUANTITY -> state instanceof QuantityType<?> quantityType && quantityType.getUnit().equals(unit);
+            case ON_OFF -> state instanceof OnOffType;
+        };
+    }
+
+    private double toDouble(State state) {
+        if (state instanceof OnOffType) {
+            return state == OnOffType.ON ? 1 : 0;
+        }
+        return ((Number) state).doubleValue();
+    }
+
+    private State stateOf(int index) {
+        double value = values[physical(index)];
+        Unit<?> unit = this.unit;
+        return switch (kind) {
+            case PERCENT -> new PercentType(BigDecimal.valueOf(value));
+            case DECIMAL -> new DecimalType(BigDecimal.valueOf(value));
+            case QUANTITY -> unit == null ? new DecimalType(BigDecimal.valueOf(value))
+                    : new QuantityType<>(BigDecimal.valueOf(value), unit);
+            case ON_OFF -> value != 0 ? OnOffType.ON : OnOffType.OFF;
+        };
+    }
+
+    private ZonedDateTime timestampOf(int index) {
+        return Instant.ofEpochSecond(0, timestampAt(index)).atZone(ZoneId.systemDefault());
+    }
+
+    private long timestampAt(int index) {
+        return timestamps[physical(index)];
+    }
+
+    private int physical(int index) {
+        return (head + index) % timestamps.length;
+    }
+
+    private void removeFirst() {
+        head = (head + 1) % timestamps.length;
+        size--;
+    }
+
+    private void grow(long maxEntries) {
+        long capacity = (long) timestamps.length * 2;
+        if (maxEntries > 0) {
+            capacity = Math.min(capacity, maxEntries);
+        }
+        long[] newTimestamps = new long[(int) Math.min(capacity, Integer.MAX_VALUE - 8)];
+        double[] newValues = new double[newTimestamps.length];
+        for (int i = 0; i < size; i++) {
+            newTimestamps[i] = timestampAt(i);
+            newValues[i] = values[physical(i)];
+        }
+        timestamps = newTimestamps;
+        values = newValues;
+        head = 0;
+    }
+
+    /**
+     * Index of the first value not before the begin date of the filter.
+     */
+    private int fromIndex(FilterCriteria filter) {
+        ZonedDateTime beginDate = filter.getBeginDate();
+        return beginDate == null ? 0 : lowerBound(toEpochNanos(beginDate));
+    }
+
+    /**
+     * Index after the last value not after the end date of the filter.
+     */
+    private int toIndex(FilterCriteria filter) {
+        ZonedDateTime endDate = filter.getEndDate();
+        if (endDate == null) {
+            return size;
+        }
+        long time = toEpochNanos(endDate);
+        return time == Long.MAX_VALUE ? size : lowerBound(time + 1);
+    }
+
+    /**
+     * Binary search for the index of the first value with a timestamp not before the given time.
+     */
+    private int lowerBound(long time) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timestampAt(mid) < time) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static long toEpochNanos(ZonedDateTime timestamp) {
+        Instant instant = timestamp.toInstant();
+        try {
+            return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), 1_000_000_000L), instant.getNano());
+        } catch (ArithmeticException e) {
+            // outside of the years 1677 - 2262
+            return instant.getEpochSecond() < 0 ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+    }
+}
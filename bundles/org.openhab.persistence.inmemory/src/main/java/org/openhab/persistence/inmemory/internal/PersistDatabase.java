@@ -0,0 +1,133 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.inmemory.internal;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.persistence.HistoricItem;
+import org.openhab.core.types.State;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link PersistDatabase} holds the stored values of a single item, ordered by their timestamp.
+ *
+ * Implementations are not thread-safe, access is guarded by the lock of the item.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+abstract class PersistDatabase {
+    private final Logger logger = LoggerFactory.getLogger(PersistDatabase.class);
+
+    /**
+     * Adds a value and removes the oldest values if more than <code>maxEntries</code> values are stored.
+     *
+     * @param timestamp the timestamp of the value
+     * @param state the value
+     * @param maxEntries the maximum number of values, 0 for no limit
+     * @return false if this database can not store the given state
+     */
+    abstract boolean add(ZonedDateTime timestamp, State state, long maxEntries);
+
+    /**
+     * Removes the oldest values until at most <code>maxEntries</code> values are stored.
+     *
+     * @param maxEntries the maximum number of values, 0 for no limit
+     */
+    abstract void trim(long maxEntries);
+
+    abstract void remove(FilterCriteria filter);
+
+    abstract List<HistoricItem> query(String itemName, FilterCriteria filter);
+
+    abstract int size();
+
+    abstract @Nullable ZonedDateTime first();
+
+    abstract @Nullable ZonedDateTime last();
+
+    /**
+     * Passes all values to the given consumer, oldest first.
+     */
+    abstract void forEach(BiConsumer<ZonedDateTime, State> consumer);
+
+    @SuppressWarnings({ "rawType", "unchecked" })
+    protected boolean applies(ZonedDateTime timestamp, State state, FilterCriteria filter) {
+        ZonedDateTime beginDate = filter.getBeginDate();
+        if (beginDate != null && timestamp.isBefore(beginDate)) {
+            return false;
+        }
+        ZonedDateTime endDate = filter.getEndDate();
+        if (endDate != null && timestamp.isAfter(endDate)) {
+            return false;
+        }
+
+        State refState = filter.getState();
+        FilterCriteria.Operator operator = filter.getOperator();
+        if (refState == null) {
+            // no state filter
+            return true;
+        }
+
+        if (operator == FilterCriteria.Operator.EQ) {
+            return state.equals(refState);
+        }
+
+        if (operator == FilterCriteria.Operator.NEQ) {
+            return !state.equals(refState);
+        }
+
+        if (state instanceof Comparable comparableState && state.getClass().equals(refState.getClass())) {
+            if (operator == FilterCriteria.Operator.GT) {
+                return comparableState.compareTo(refState) > 0;
+            }
+            if (operator == FilterCriteria.Operator.GTE) {
+                return comparableState.compareTo(refState) >= 0;
+            }
+            if (operator == FilterCriteria.Operator.LT) {
+                return comparableState.compareTo(refState) < 0;
+            }
+            if (operator == FilterCriteria.Operator.LTE) {
+                return comparableState.compareTo(refState) <= 0;
+            }
+        } else {
+            logger.warn("Using operator {} but state {} is not comparable!", operator, refState);
+        }
+        return true;
+    }
+
+    protected HistoricItem toHistoricItem(String itemName, ZonedDateTime timestamp, State state) {
+        return new HistoricItem() {
+            @Override
+            public ZonedDateTime getTimestamp() {
+                return timestamp;
+            }
+
+            @Override
+            public State getState() {
+                return state;
+            }
+
+            @Override
+            public String getName() {
+                return itemName;
+            }
+        };
+    }
+}
@@ -14,6 +14,7 @@ package org.openhab.persistence.inmemory.internal;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
@@ -21,7 +22,10 @@ import static org.mockito.Mockito.when;
 
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
 import java.util.TreeSet;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -35,7 +39,9 @@ import org.mockito.quality.Strictness;
 import org.openhab.core.items.GenericItem;
 import org.openhab.core.library.types.DecimalType;
 import org.openhab.core.library.types.HSBType;
+import org.openhab.core.library.types.OnOffType;
 import org.openhab.core.library.types.PercentType;
+import org.openhab.core.library.types.QuantityType;
 import org.openhab.core.library.types.StringType;
 import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.HistoricItem;
@@ -180,4 +186,102 @@ public class InMemoryPersistenceTests {
         assertThat(storedStates.last().getState(), is(historicState3));
         assertThat(storedStates.last().getTimestamp(), is(expectedTime.plusHours(4)));
     }
+
+    @Test
+    public void queryBetweenTimesHonoursOrderingAndPaging() {
+        ZonedDateTime expectedTime = ZonedDateTime.of(2022, 05, 31, 10, 0, 0, 0, ZoneId.systemDefault());
+        for (int i = 0; i < 10; i++) {
+            service.store(item, expectedTime.plusHours(i), new DecimalType(i));
+        }
+
+        filterCriteria.setBeginDate(expectedTime.plusHours(2));
+        filterCriteria.setEndDate(expectedTime.plusHours(7));
+
+        filterCriteria.setOrdering(FilterCriteria.Ordering.ASCENDING);
+        List<State> states = new ArrayList<>();
+        service.query(filterCriteria).forEach(historicItem -> states.add(historicItem.getState()));
+        assertThat(states, contains(new DecimalType(2), new DecimalType(3), new DecimalType(4), new DecimalType(5),
+                new DecimalType(6), new DecimalType(7)));
+
+        filterCriteria.setOrdering(FilterCriteria.Ordering.DESCENDING);
+        filterCriteria.setPageSize(2);
+        filterCriteria.setPageNumber(1);
+        states.clear();
+        service.query(filterCriteria).forEach(historicItem -> states.add(historicItem.getState()));
+        assertThat(states, contains(new DecimalType(5), new DecimalType(4)));
+    }
+
+    @Test
+    public void queryWithStateFilterPagesOverMatchingEntries() {
+        ZonedDateTime expectedTime = ZonedDateTime.of(2022, 05, 31, 10, 0, 0, 0, ZoneId.systemDefault());
+        for (int i = 0; i < 10; i++) {
+            service.store(item, expectedTime.plusHours(i), new DecimalType(i % 2));
+        }
+
+        filterCriteria.setOperator(FilterCriteria.Operator.EQ);
+        filterCriteria.setState(new DecimalType(1));
+        filterCriteria.setOrdering(FilterCriteria.Ordering.ASCENDING);
+        filterCriteria.setPageSize(2);
+        filterCriteria.setPageNumber(1);
+
+        List<ZonedDateTime> timestamps = new ArrayList<>();
+        service.query(filterCriteria).forEach(historicItem -> timestamps.add(historicItem.getTimestamp()));
+        assertThat(timestamps, contains(expectedTime.plusHours(5), expectedTime.plusHours(7)));
+    }
+
+    @Test
+    public void compactStorageKeepsNewestEntries() {
+        service.activate(Map.of("maxEntries", 5, "compactStorage", true));
+
+        ZonedDateTime expectedTime = ZonedDateTime.of(2022, 05, 31, 10, 0, 0, 0, ZoneId.systemDefault());
+        for (int i = 0; i < 8; i++) {
+            service.store(item, expectedTime.plusHours(i), new DecimalType(i));
+        }
+        // older than all stored values, so it is dropped immediately
+        service.store(item, expectedTime.minusHours(1), new DecimalType(-1));
+        // stored between existing values
+        service.store(item, expectedTime.plusMinutes(330), new DecimalType(5.5));
+
+        filterCriteria.setOrdering(FilterCriteria.Ordering.ASCENDING);
+        List<State> states = new ArrayList<>();
+        service.query(filterCriteria).forEach(historicItem -> states.add(historicItem.getState()));
+        assertThat(states, contains(new DecimalType(4), new DecimalType(5), new DecimalType(5.5), new DecimalType(6),
+                new DecimalType(7)));
+
+        filterCriteria.setOrdering(FilterCriteria.Ordering.DESCENDING);
+        filterCriteria.setEndDate(expectedTime.plusHours(6));
+        filterCriteria.setPageSize(2);
+        filterCriteria.setPageNumber(1);
+        List<ZonedDateTime> timestamps = new ArrayList<>();
+        service.query(filterCriteria).forEach(historicItem -> timestamps.add(historicItem.getTimestamp()));
+        assertThat(timestamps, contains(expectedTime.plusHours(5), expectedTime.plusHours(4)));
+    }
+
+    @Test
+    public void compactStorageRestoresStates() {
+        service.activate(Map.of("compactStorage", true));
+
+        ZonedDateTime expectedTime = ZonedDateTime.of(2022, 05, 31, 10, 0, 0, 0, ZoneId.systemDefault());
+        State quantity = new QuantityType<>("21.5 °C");
+        service.store(item, expectedTime, quantity);
+        service.store(item, expectedTime, OnOffType.ON, ALIAS);
+
+        assertThat(service.query(filterCriteria).iterator().next().getState(), is(quantity));
+        filterCriteria.setItemName(ALIAS);
+        assertThat(service.query(filterCriteria).iterator().next().getState(), is(OnOffType.ON));
+    }
+
+    @Test
+    public void compactStorageSwitchesToGenericStorageForOtherTypes() {
+        service.activate(Map.of("compactStorage", true));
+
+        ZonedDateTime expectedTime = ZonedDateTime.of(2022, 05, 31, 10, 0, 0, 0, ZoneId.systemDefault());
+        service.store(item, expectedTime, new PercentType(10));
+        service.store(item, expectedTime.plusHours(1), new StringType("value"));
+
+        filterCriteria.setOrdering(FilterCriteria.Ordering.ASCENDING);
+        List<State> states = new ArrayList<>();
+        service.query(filterCriteria).forEach(historicItem -> states.add(historicItem.getState()));
+        assertThat(states, contains(new PercentType(10), new StringType("value")));
+    }
 }
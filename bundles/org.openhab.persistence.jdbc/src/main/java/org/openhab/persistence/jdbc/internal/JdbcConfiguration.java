@@ -65,6 +65,13 @@ public class JdbcConfiguration {
 
     private int errReconnectThreshold = 0;
 
+    private int batchSize = 0;
+    private int batchInterval = 1000;
+    private int batchMaxPending = 10000;
+    private int writerThreads = 1;
+
+    private int queryFetchSize = 0;
+
     public int timerCount = 0;
     public int time1000Statements = 0;
     public long timer1000 = 0;
@@ -189,6 +196,36 @@ public class JdbcConfiguration {
             logger.debug("JDBC::updateConfig: rebuildTableNames={}", rebuildTableNames);
         }
 
+        String bs = (String) configuration.get("batchSize");
+        if (bs != null && !bs.isBlank() && isNumericPattern.matcher(bs).matches()) {
+            batchSize = Integer.parseInt(bs);
+            logger.debug("JDBC::updateConfig: batchSize={}", batchSize);
+        }
+
+        String bi = (String) configuration.get("batchInterval");
+        if (bi != null && !bi.isBlank() && isNumericPattern.matcher(bi).matches()) {
+            batchInterval = Integer.parseInt(bi);
+            logger.debug("JDBC::updateConfig: batchInterval={}", batchInterval);
+        }
+
+        String bm = (String) configuration.get("batchMaxPending");
+        if (bm != null && !bm.isBlank() && isNumericPattern.matcher(bm).matches()) {
+            batchMaxPending = Integer.parseInt(bm);
+            logger.debug("JDBC::updateConfig: batchMaxPending={}", batchMaxPending);
+        }
+
+        String wt = (String) configuration.get("writerThreads");
+        if (wt != null && !wt.isBlank() && isNumericPattern.matcher(wt).matches()) {
+            writerThreads = Integer.parseInt(wt);
+            logger.debug("JDBC::updateConfig: writerThreads={}", writerThreads);
+        }
+
+        String qf = (String) configuration.get("queryFetchSize");
+        if (qf != null && !qf.isBlank() && isNumericPattern.matcher(qf).matches()) {
+            queryFetchSize = Integer.parseInt(qf);
+            logger.debug("JDBC::updateConfig: queryFetchSize={}", queryFetchSize);
+        }
+
         // undocumented
         String ac = (String) configuration.get("maximumPoolSize");
         if (ac != null && !ac.isBlank()) {
@@ -373,6 +410,41 @@ public class JdbcConfiguration {
         return rebuildTableNames;
     }
 
+    /**
+     * Get maximum number of states written in one batch.
+     *
+     * @return batch size, or 0 if states are written one by one
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public int getBatchInterval() {
+        return batchInterval;
+    }
+
+    public int getBatchMaxPending() {
+        return batchMaxPending;
+    }
+
+    /**
+     * Get number of threads writing batches in parallel, each serving its own share of the item tables.
+     *
+     * @return number of writer threads
+     */
+    public int getWriterThreads() {
+        return writerThreads;
+    }
+
+    /**
+     * Get number of rows fetched at once when query results are read while being iterated.
+     *
+     * @return fetch size, or 0 if query results are loaded completely
+     */
+    public int getQueryFetchSize() {
+        return queryFetchSize;
+    }
+
     public int getNumberDecimalcount() {
         return numberDecimalcount;
     }
@@ -20,6 +20,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -32,9 +35,11 @@ import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.HistoricItem;
 import org.openhab.core.persistence.PersistenceItemInfo;
 import org.openhab.core.types.State;
+import org.openhab.persistence.jdbc.internal.db.JdbcHistoricItemCursor;
 import org.openhab.persistence.jdbc.internal.dto.Column;
 import org.openhab.persistence.jdbc.internal.dto.ItemVO;
 import org.openhab.persistence.jdbc.internal.dto.ItemsVO;
+import org.openhab.persistence.jdbc.internal.dto.JdbcPendingState;
 import org.openhab.persistence.jdbc.internal.dto.JdbcPersistenceItemInfo;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcException;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
@@ -56,13 +61,17 @@ public class JdbcMapper {
     private final TimeZoneProvider timeZoneProvider;
 
     // Error counter - used to reconnect to database on error
-    protected int errCnt;
+    // accessed by the writer threads of the write buffer concurrently
+    protected final AtomicInteger errCnt = new AtomicInteger();
     protected boolean initialized = false;
     protected @NonNullByDefault({}) JdbcConfiguration conf;
-    protected final Map<String, String> itemNameToTableNameMap = new HashMap<>();
+    protected final Map<String, String> itemNameToTableNameMap = new ConcurrentHashMap<>();
     protected @NonNullByDefault({}) NamingStrategy namingStrategy;
     private long afterAccessMin = 10000;
     private long afterAccessMax = 0;
+    // serializes the time statistics and the creation of item tables, which may run on several writer threads
+    private final Object logTimeLock = new Object();
+    private final Object tableCreationLock = new Object();
 
     public JdbcMapper(TimeZoneProvider timeZoneProvider) {
         this.timeZoneProvider = timeZoneProvider;
@@ -222,7 +231,20 @@ public class JdbcMapper {
             conf.getDBDAO().doStoreItemValue(item, itemState, new ItemVO(tableName, null), date);
         }
         logTime("storeItemValue", timerStart, System.currentTimeMillis());
-        errCnt = 0;
+        errCnt.set(0);
+    }
+
+    protected void storeItemValues(List<JdbcPendingState> states) throws JdbcException {
+        if (states.isEmpty()) {
+            return;
+        }
+        Item item = states.get(0).getItem();
+        logger.debug("JDBC::storeItemValues: item={} count={}", item, states.size());
+        String tableName = getTable(item);
+        long timerStart = System.currentTimeMillis();
+        conf.getDBDAO().doStoreItemValues(states, tableName);
+        logTime("storeItemValues", timerStart, System.currentTimeMillis());
+        errCnt.set(0);
     }
 
     public long getRowCount(String tableName) throws JdbcSQLException {
@@ -238,16 +260,24 @@ public class JdbcMapper {
         List<HistoricItem> result = conf.getDBDAO().doGetHistItemFilterQuery(item, filter, numberDecimalcount, table,
                 item.getName(), timeZoneProvider.getTimeZone());
         logTime("getHistItemFilterQuery", timerStart, System.currentTimeMillis());
-        errCnt = 0;
+        errCnt.set(0);
         return result;
     }
 
+    protected JdbcHistoricItemCursor getHistItemFilterCursor(FilterCriteria filter, int numberDecimalcount,
+            String table, Item item, ScheduledExecutorService scheduler) {
+        logger.debug("JDBC::getHistItemFilterCursor filter='{}' numberDecimalcount='{}' table='{}' itemName='{}'",
+                filter, numberDecimalcount, table, item.getName());
+        return conf.getDBDAO().doGetHistItemFilterCursor(item, filter, numberDecimalcount, table, item.getName(),
+                timeZoneProvider.getTimeZone(), conf.getQueryFetchSize(), scheduler);
+    }
+
     protected void deleteItemValues(FilterCriteria filter, String table) throws JdbcSQLException {
         logger.debug("JDBC::deleteItemValues filter='{}' table='{}' itemName='{}'", true, table, filter.getItemName());
         long timerStart = System.currentTimeMillis();
         conf.getDBDAO().doDeleteItemValues(filter, table, timeZoneProvider.getTimeZone());
         logTime("deleteItemValues", timerStart, System.currentTimeMillis());
-        errCnt = 0;
+        errCnt.set(0);
     }
 
     /***********************
@@ -297,12 +327,14 @@ public class JdbcMapper {
             boolean p = pingDB();
             if (p) {
                 logger.debug("JDBC::checkDBAcessability, first try connection: {}", p);
-                return (p && !(conf.getErrReconnectThreshold() > 0 && errCnt <= conf.getErrReconnectThreshold()));
+                return (p && !(conf.getErrReconnectThreshold() > 0
+                        && errCnt.get() <= conf.getErrReconnectThreshold()));
             } else {
                 // second
                 p = pingDB();
                 logger.debug("JDBC::checkDBAcessability, second try connection: {}", p);
-                return (p && !(conf.getErrReconnectThreshold() > 0 && errCnt <= conf.getErrReconnectThreshold()));
+                return (p && !(conf.getErrReconnectThreshold() > 0
+                        && errCnt.get() <= conf.getErrReconnectThreshold()));
             }
         } catch (JdbcSQLException e) {
             logger.warn("Unable to ping database", e);
@@ -329,7 +361,7 @@ public class JdbcMapper {
             logger.info(
                     "JDBC::checkDBSchema: Rebuild complete, configure the 'rebuildTableNames' setting to 'false' to stop rebuilds on startup");
             // Reset the error counter
-            errCnt = 0;
+            errCnt.set(0);
         }
         populateItemNameToTableNameMap();
     }
@@ -365,6 +397,18 @@ public class JdbcMapper {
             return tableName;
         }
 
+        synchronized (tableCreationLock) {
+            // another writer may have created the table in the meantime
+            tableName = itemNameToTableNameMap.get(itemName);
+            if (!Objects.isNull(tableName)) {
+                return tableName;
+            }
+            return createTable(item);
+        }
+    }
+
+    private String createTable(Item item) throws JdbcException {
+        String itemName = item.getName();
         logger.debug("JDBC::getTable: no table found for item '{}' in itemNameToTableNameMap", itemName);
 
         int itemId = 0;
@@ -383,7 +427,7 @@ public class JdbcMapper {
 
         // Create the table name
         logger.debug("JDBC::getTable: getTableName with rowId={} itemName={}", itemId, itemName);
-        tableName = namingStrategy.getTableName(itemId, itemName);
+        String tableName = namingStrategy.getTableName(itemId, itemName);
 
         // Create table for item
         String dataType = conf.getDBDAO().getDataType(item);
@@ -484,29 +528,35 @@ public class JdbcMapper {
      *****************/
     private void logTime(String me, long timerStart, long timerStop) {
         if (conf.enableLogTime && logger.isInfoEnabled()) {
-            conf.timerCount++;
-            int timerDiff = (int) (timerStop - timerStart);
-            if (timerDiff < afterAccessMin) {
-                afterAccessMin = timerDiff;
-            }
-            if (timerDiff > afterAccessMax) {
-                afterAccessMax = timerDiff;
-            }
-            conf.timeAverage50arr.add(timerDiff);
-            conf.timeAverage100arr.add(timerDiff);
-            conf.timeAverage200arr.add(timerDiff);
-            if (conf.timerCount == 1) {
-                conf.timer1000 = System.currentTimeMillis();
+            synchronized (logTimeLock) {
+                logTimeStatistics(me, timerStart, timerStop);
             }
-            if (conf.timerCount == 1001) {
-                conf.time1000Statements = Math.round(((int) (System.currentTimeMillis() - conf.timer1000)) / 1000);// Seconds
-                conf.timerCount = 0;
-            }
-            logger.info(
-                    "JDBC::logTime: '{}':\n afterAccess     = {} ms\n timeAverage50  = {} ms\n timeAverage100 = {} ms\n timeAverage200 = {} ms\n afterAccessMin  = {} ms\n afterAccessMax  = {} ms\n 1000Statements = {} sec\n statementCount = {}\n",
-                    me, timerDiff, conf.timeAverage50arr.getAverageInteger(),
-                    conf.timeAverage100arr.getAverageInteger(), conf.timeAverage200arr.getAverageInteger(),
-                    afterAccessMin, afterAccessMax, conf.time1000Statements, conf.timerCount);
         }
     }
+
+    private void logTimeStatistics(String me, long timerStart, long timerStop) {
+        conf.timerCount++;
+        int timerDiff = (int) (timerStop - timerStart);
+        if (timerDiff < afterAccessMin) {
+            afterAccessMin = timerDiff;
+        }
+        if (timerDiff > afterAccessMax) {
+            afterAccessMax = timerDiff;
+        }
+        conf.timeAverage50arr.add(timerDiff);
+        conf.timeAverage100arr.add(timerDiff);
+        conf.timeAverage200arr.add(timerDiff);
+        if (conf.timerCount == 1) {
+            conf.timer1000 = System.currentTimeMillis();
+        }
+        if (conf.timerCount == 1001) {
+            conf.time1000Statements = Math.round(((int) (System.currentTimeMillis() - conf.timer1000)) / 1000);// Seconds
+            conf.timerCount = 0;
+        }
+        logger.info(
+                "JDBC::logTime: '{}':\n afterAccess     = {} ms\n timeAverage50  = {} ms\n timeAverage100 = {} ms\n timeAverage200 = {} ms\n afterAccessMin  = {} ms\n afterAccessMax  = {} ms\n 1000Statements = {} sec\n statementCount = {}\n",
+                me, timerDiff, conf.timeAverage50arr.getAverageInteger(),
+                conf.timeAverage100arr.getAverageInteger(), conf.timeAverage200arr.getAverageInteger(),
+                afterAccessMin, afterAccessMax, conf.time1000Statements, conf.timerCount);
+    }
 }
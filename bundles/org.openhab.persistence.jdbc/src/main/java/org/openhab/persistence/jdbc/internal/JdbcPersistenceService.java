@@ -46,6 +46,7 @@ import org.openhab.core.types.UnDefType;
 import org.openhab.persistence.jdbc.internal.db.JdbcBaseDAO;
 import org.openhab.persistence.jdbc.internal.dto.Column;
 import org.openhab.persistence.jdbc.internal.dto.ItemsVO;
+import org.openhab.persistence.jdbc.internal.dto.JdbcPendingState;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcException;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
 import org.osgi.framework.BundleContext;
@@ -77,6 +78,8 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
     private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1,
             new NamedThreadFactory(JdbcPersistenceServiceConstants.SERVICE_ID));
 
+    private @Nullable JdbcWriteBuffer writeBuffer;
+
     @Activate
     public JdbcPersistenceService(final @Reference ItemRegistry itemRegistry,
             final @Reference TimeZoneProvider timeZoneProvider) {
@@ -120,6 +123,7 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
     @Deactivate
     public void deactivate(final int reason) {
         logger.debug("JDBC::deactivate:  persistence bundle stopping. Disconnecting from database. reason={}", reason);
+        stopWriteBuffer();
         // closeConnection();
         initialized = false;
     }
@@ -137,24 +141,39 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
 
     @Override
     public void store(Item item) {
-        scheduler.execute(() -> internalStore(item, null, item.getState()));
+        scheduleStore(item, null, item.getState());
     }
 
     @Override
     public void store(Item item, @Nullable String alias) {
         // alias is not supported
-        scheduler.execute(() -> internalStore(item, null, item.getState()));
+        scheduleStore(item, null, item.getState());
     }
 
     @Override
     public void store(Item item, ZonedDateTime date, State state) {
-        scheduler.execute(() -> internalStore(item, date, state));
+        scheduleStore(item, date, state);
     }
 
     @Override
     public void store(Item item, ZonedDateTime date, State state, @Nullable String alias) {
         // alias is not supported
-        scheduler.execute(() -> internalStore(item, null, item.getState()));
+        scheduleStore(item, null, item.getState());
+    }
+
+    private void scheduleStore(Item item, @Nullable ZonedDateTime date, State state) {
+        JdbcWriteBuffer writeBuffer = this.writeBuffer;
+        if (writeBuffer == null) {
+            scheduler.execute(() -> internalStore(item, date, state));
+            return;
+        }
+        // Do not store undefined/uninitialized data
+        if (state instanceof UnDefType) {
+            logger.debug("JDBC::store: ignore Item '{}' because it is UnDefType", item.getName());
+            return;
+        }
+        // The timestamp is taken now rather than by the database, since the state may wait in the buffer
+        writeBuffer.add(new JdbcPendingState(item, state, date != null ? date : ZonedDateTime.now()));
     }
 
     private synchronized void internalStore(Item item, @Nullable ZonedDateTime date, State state) {
@@ -166,7 +185,7 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
         if (!checkDBAccessability()) {
             logger.warn(
                     "JDBC::store: No connection to database. Cannot persist state '{}' for item '{}'! Will retry connecting to database when error count:{} equals errReconnectThreshold:{}",
-                    state, item, errCnt, conf.getErrReconnectThreshold());
+                    state, item, errCnt.get(), conf.getErrReconnectThreshold());
             return;
         }
         try {
@@ -181,6 +200,42 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
         }
     }
 
+    private void internalStoreBatch(List<JdbcPendingState> states) throws JdbcException {
+        boolean accessible;
+        synchronized (this) {
+            accessible = checkDBAccessability();
+        }
+        if (!accessible) {
+            logger.warn(
+                    "JDBC::store: No connection to database. Cannot persist {} states for item '{}'! Will retry connecting to database when error count:{} equals errReconnectThreshold:{}",
+                    states.size(), states.get(0).getItem().getName(), errCnt.get(), conf.getErrReconnectThreshold());
+            throw new JdbcException("No connection to database");
+        }
+        long timerStart = System.currentTimeMillis();
+        storeItemValues(states);
+        if (logger.isDebugEnabled()) {
+            logger.debug("JDBC: Stored {} states for item '{}' in SQL database at {} in {} ms.", states.size(),
+                    states.get(0).getItem().getName(), new Date(), System.currentTimeMillis() - timerStart);
+        }
+    }
+
+    private void stopWriteBuffer() {
+        JdbcWriteBuffer writeBuffer = this.writeBuffer;
+        if (writeBuffer != null) {
+            this.writeBuffer = null;
+            writeBuffer.stop();
+        }
+    }
+
+    /**
+     * Get the write buffer used for batched inserts.
+     *
+     * @return write buffer, or null if batching is disabled
+     */
+    public @Nullable JdbcWriteBuffer getWriteBuffer() {
+        return writeBuffer;
+    }
+
     @Override
     public Set<PersistenceItemInfo> getItemInfo() {
         return getItems();
@@ -231,12 +286,23 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
             }
         }
 
+        JdbcWriteBuffer writeBuffer = this.writeBuffer;
+        if (writeBuffer != null) {
+            // buffered states of the item have to be in the database before it is queried
+            writeBuffer.flush(itemName);
+        }
+
         String table = itemNameToTableNameMap.get(itemName);
         if (table == null) {
             logger.debug("JDBC::query: unable to find table for item with name: '{}', no data in database.", itemName);
             return List.of();
         }
 
+        if (conf.getQueryFetchSize() > 0 && filter.getPageSize() == Integer.MAX_VALUE) {
+            // rows are read while the result is iterated, database errors are thrown by its iterator
+            return getHistItemFilterCursor(filter, conf.getNumberDecimalcount(), table, item, scheduler);
+        }
+
         try {
             long timerStart = System.currentTimeMillis();
             List<HistoricItem> items = getHistItemFilterQuery(filter, conf.getNumberDecimalcount(), table, item);
@@ -245,7 +311,7 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
                         System.currentTimeMillis() - timerStart);
             }
             // Success
-            errCnt = 0;
+            errCnt.set(0);
             return items;
         } catch (JdbcSQLException e) {
             logger.warn("JDBC::query: Unable to query item", e);
@@ -256,6 +322,7 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
     public void updateConfig(Map<Object, Object> configuration) {
         logger.debug("JDBC::updateConfig");
 
+        stopWriteBuffer();
         conf = new JdbcConfiguration(configuration);
         if (conf.valid && checkDBAccessability()) {
             namingStrategy = new NamingStrategy(conf);
@@ -271,6 +338,15 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
             initialized = false;
         }
 
+        if (conf.getBatchSize() > 0) {
+            JdbcWriteBuffer writeBuffer = new JdbcWriteBuffer(scheduler, this::internalStoreBatch, conf.getBatchSize(),
+                    conf.getBatchInterval(), conf.getBatchMaxPending(), conf.getWriterThreads());
+            writeBuffer.start();
+            this.writeBuffer = writeBuffer;
+            logger.debug("JDBC::updateConfig: write buffer enabled, batchSize={} batchInterval={} ms writerThreads={}",
+                    conf.getBatchSize(), conf.getBatchInterval(), conf.getWriterThreads());
+        }
+
         logger.debug("JDBC::updateConfig: configuration complete for service={}.", getId());
     }
 
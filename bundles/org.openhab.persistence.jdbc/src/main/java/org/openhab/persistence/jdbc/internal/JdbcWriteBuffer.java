@@ -0,0 +1,325 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.NamedThreadFactory;
+import org.openhab.persistence.jdbc.internal.dto.JdbcPendingState;
+import org.openhab.persistence.jdbc.internal.exceptions.JdbcException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link JdbcWriteBuffer} collects item states and writes them to the database in batches,
+ * one batch per item table.
+ *
+ * A flush is triggered when the configured batch size is reached or when the flush interval has elapsed,
+ * whichever comes first. The number of pending states is bounded; states arriving while the buffer is full
+ * are dropped and counted, and a warning is logged at most once per minute while states are being dropped.
+ *
+ * Before an item is queried, {@link #flush(String)} writes its pending states, so that queries see all stored
+ * states.
+ *
+ * Batches are written by a number of writer threads. Each item table is assigned to one writer, so writes to
+ * the same table stay in order, while writes to different tables may run in parallel. A slow table therefore
+ * only delays the tables sharing its writer.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class JdbcWriteBuffer {
+
+    /**
+     * Writes a batch of states belonging to the same item.
+     */
+    @FunctionalInterface
+    public interface BatchWriter {
+        void write(List<JdbcPendingState> states) throws JdbcException;
+    }
+
+    private static final int STOP_TIMEOUT_SECONDS = 30;
+    private static final int QUERY_FLUSH_TIMEOUT_SECONDS = 10;
+    private static final long DROP_WARNING_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final Logger logger = LoggerFactory.getLogger(JdbcWriteBuffer.class);
+
+    private final ScheduledExecutorService scheduler;
+    private final BatchWriter writer;
+    private final int batchSize;
+    private final int maxPending;
+    private final long flushInterval;
+    private final int writerCount;
+
+    private final List<ExecutorService> writers = new ArrayList<>();
+    private Map<String, List<JdbcPendingState>> pendingStates = new LinkedHashMap<>();
+    private int bufferedCount = 0;
+    private int pendingCount = 0;
+    private int highWatermark = 0;
+    private boolean flushScheduled = false;
+    private long lastDropWarning;
+    private long droppedSinceWarning = 0;
+    private @Nullable ScheduledFuture<?> flushJob;
+
+    private final AtomicLong storedCount = new AtomicLong();
+    private final AtomicLong batchCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+
+    /**
+     * Creates a new write buffer.
+     *
+     * @param scheduler scheduler used for running flushes
+     * @param writer writer receiving the batches
+     * @param batchSize maximum number of states written in one batch, also the number of pending states
+     *            triggering an immediate flush
+     * @param flushInterval interval in milliseconds between periodic flushes
+     * @param maxPending maximum number of pending states, including states currently being written
+     * @param writerCount number of writer threads
+     */
+    public JdbcWriteBuffer(ScheduledExecutorService scheduler, BatchWriter writer, int batchSize, long flushInterval,
+            int maxPending, int writerCount) {
+        this.scheduler = scheduler;
+        this.writer = writer;
+        this.batchSize = Math.max(1, batchSize);
+        this.flushInterval = Math.max(1, flushInterval);
+        this.maxPending = Math.max(this.batchSize, maxPending);
+        this.writerCount = Math.max(1, writerCount);
+        this.lastDropWarning = System.nanoTime() - DROP_WARNING_INTERVAL_NANOS;
+    }
+
+    public synchronized void start() {
+        for (int i = 0; i < writerCount; i++) {
+            writers.add(Executors.newSingleThreadExecutor(
+                    new NamedThreadFactory(JdbcPersistenceServiceConstants.SERVICE_ID + "-writer-" + i)));
+        }
+        flushJob = scheduler.scheduleWithFixedDelay(this::flush, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the periodic flush and writes all pending states.
+     */
+    public void stop() {
+        List<ExecutorService> writers;
+        synchronized (this) {
+            ScheduledFuture<?> flushJob = this.flushJob;
+            if (flushJob != null) {
+                flushJob.cancel(false);
+                this.flushJob = null;
+            }
+        }
+        flush();
+        synchronized (this) {
+            writers = List.copyOf(this.writers);
+            this.writers.clear();
+        }
+        writers.forEach(ExecutorService::shutdown);
+        try {
+            for (ExecutorService executor : writers) {
+                if (!executor.awaitTermination(STOP_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    logger.warn("JDBC::stop: Writer did not finish within {} seconds, {} states may be lost",
+                            STOP_TIMEOUT_SECONDS, getPendingCount());
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Adds a state to the buffer.
+     *
+     * @param state the state to store
+     * @return false if the buffer is full and the state was dropped
+     */
+    public boolean add(JdbcPendingState state) {
+        synchronized (this) {
+            if (pendingCount >= maxPending) {
+                droppedCount.incrementAndGet();
+                droppedSinceWarning++;
+                long now = System.nanoTime();
+                if (now - lastDropWarning >= DROP_WARNING_INTERVAL_NANOS) {
+                    lastDropWarning = now;
+                    logger.warn(
+                            "JDBC::add: Write buffer is full ({} pending states), dropped {} states since the last warning",
+                            pendingCount, droppedSinceWarning);
+                    droppedSinceWarning = 0;
+                }
+                return false;
+            }
+            pendingStates.computeIfAbsent(state.getItem().getName(), k -> new ArrayList<>()).add(state);
+            bufferedCount++;
+            pendingCount++;
+            if (pendingCount > highWatermark) {
+                highWatermark = pendingCount;
+            }
+            if (bufferedCount >= batchSize && !flushScheduled) {
+                flushScheduled = true;
+                scheduler.execute(this::flush);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Hands all buffered states over to the writers.
+     */
+    public void flush() {
+        Map<String, List<JdbcPendingState>> states;
+        synchronized (this) {
+            states = pendingStates;
+            pendingStates = new LinkedHashMap<>();
+            bufferedCount = 0;
+            flushScheduled = false;
+        }
+        for (Entry<String, List<JdbcPendingState>> entry : states.entrySet()) {
+            List<JdbcPendingState> itemStates = entry.getValue();
+            ExecutorService executor = getWriter(entry.getKey());
+            if (executor == null) {
+                write(itemStates);
+                continue;
+            }
+            try {
+                executor.execute(() -> write(itemStates));
+            } catch (RejectedExecutionException e) {
+                // writer has been shut down concurrently
+                write(itemStates);
+            }
+        }
+    }
+
+    /**
+     * Writes the buffered states of an item and waits until all states of the item handed over to its writer
+     * are written, so that a following query returns them.
+     *
+     * @param itemName the name of the item to be queried
+     */
+    public void flush(String itemName) {
+        @Nullable
+        List<JdbcPendingState> itemStates;
+        synchronized (this) {
+            itemStates = pendingStates.remove(itemName);
+            if (itemStates != null) {
+                bufferedCount -= itemStates.size();
+            }
+        }
+        ExecutorService executor = getWriter(itemName);
+        if (executor == null) {
+            if (itemStates != null) {
+                write(itemStates);
+            }
+            return;
+        }
+        try {
+            // the writer runs its tasks in order, so this also waits for earlier batches of the item
+            executor.submit(() -> {
+                if (itemStates != null) {
+                    write(itemStates);
+                }
+            }).get(QUERY_FLUSH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (RejectedExecutionException e) {
+            // writer has been shut down concurrently
+            if (itemStates != null) {
+                write(itemStates);
+            }
+        } catch (ExecutionException | TimeoutException e) {
+            logger.debug("JDBC::flush: Pending states of item '{}' not written before query: {}", itemName,
+                    e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private synchronized @Nullable ExecutorService getWriter(String itemName) {
+        // item names map one-to-one to tables, so all writes of a table end up in the same writer
+        return writers.isEmpty() ? null : writers.get(Math.floorMod(itemName.hashCode(), writers.size()));
+    }
+
+    private void write(List<JdbcPendingState> itemStates) {
+        long timerStart = System.currentTimeMillis();
+        for (int i = 0; i < itemStates.size(); i += batchSize) {
+            List<JdbcPendingState> batch = itemStates.subList(i, Math.min(i + batchSize, itemStates.size()));
+            try {
+                writer.write(batch);
+                storedCount.addAndGet(batch.size());
+                batchCount.incrementAndGet();
+            } catch (JdbcException e) {
+                failedCount.addAndGet(batch.size());
+                logger.warn("JDBC::write: Unable to store {} states for item '{}'", batch.size(),
+                        batch.get(0).getItem().getName(), e);
+            } finally {
+                synchronized (this) {
+                    pendingCount -= batch.size();
+                }
+            }
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("JDBC::write: Stored {} states of item '{}' in {} ms", itemStates.size(),
+                    itemStates.get(0).getItem().getName(), System.currentTimeMillis() - timerStart);
+        }
+    }
+
+    /**
+     * Get number of states currently waiting to be written, either in the buffer or in a writer queue.
+     */
+    public synchronized int getPendingCount() {
+        return pendingCount;
+    }
+
+    /**
+     * Get highest number of pending states observed.
+     */
+    public synchronized int getHighWatermark() {
+        return highWatermark;
+    }
+
+    public int getMaxPending() {
+        return maxPending;
+    }
+
+    public int getWriterCount() {
+        return writerCount;
+    }
+
+    public long getStoredCount() {
+        return storedCount.get();
+    }
+
+    public long getBatchCount() {
+        return batchCount.get();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+}
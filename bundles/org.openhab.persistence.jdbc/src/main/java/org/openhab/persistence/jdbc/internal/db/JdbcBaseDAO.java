@@ -24,6 +24,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.stream.Collectors;
 
 import javax.measure.Quantity;
@@ -60,6 +61,7 @@ import org.openhab.persistence.jdbc.internal.dto.Column;
 import org.openhab.persistence.jdbc.internal.dto.ItemVO;
 import org.openhab.persistence.jdbc.internal.dto.ItemsVO;
 import org.openhab.persistence.jdbc.internal.dto.JdbcHistoricItem;
+import org.openhab.persistence.jdbc.internal.dto.JdbcPendingState;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
 import org.openhab.persistence.jdbc.internal.utils.DbMetaData;
 import org.openhab.persistence.jdbc.internal.utils.StringUtilsExt;
@@ -430,10 +432,8 @@ public class JdbcBaseDAO {
 
     public void doStoreItemValue(Item item, State itemState, ItemVO vo) throws JdbcSQLException {
         ItemVO storedVO = storeItemValueProvider(item, itemState, vo);
-        String sql = StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
-                new String[] { "#tableName#", "#tablePrimaryValue#" },
-                new String[] { storedVO.getTableName(), sqlTypes.get("tablePrimaryValue") });
-        Object[] params = { storedVO.getValue(), storedVO.getValue() };
+        String sql = storeItemValueSqlProvider(storedVO, sqlTypes.get("tablePrimaryValue"));
+        Object[] params = storeItemValueParamsProvider(storedVO, null);
         logger.debug("JDBC::doStoreItemValue sql={} value='{}'", sql, storedVO.getValue());
         try {
             Yank.execute(sql, params);
@@ -444,10 +444,9 @@ public class JdbcBaseDAO {
 
     public void doStoreItemValue(Item item, State itemState, ItemVO vo, ZonedDateTime date) throws JdbcSQLException {
         ItemVO storedVO = storeItemValueProvider(item, itemState, vo);
-        String sql = StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
-                new String[] { "#tableName#", "#tablePrimaryValue#" }, new String[] { storedVO.getTableName(), "?" });
+        String sql = storeItemValueSqlProvider(storedVO, "?");
         java.sql.Timestamp timestamp = new java.sql.Timestamp(date.toInstant().toEpochMilli());
-        Object[] params = { timestamp, storedVO.getValue(), storedVO.getValue() };
+        Object[] params = storeItemValueParamsProvider(storedVO, timestamp);
         logger.debug("JDBC::doStoreItemValue sql={} timestamp={} value='{}'", sql, timestamp, storedVO.getValue());
         try {
             Yank.execute(sql, params);
@@ -456,6 +455,39 @@ public class JdbcBaseDAO {
         }
     }
 
+    /**
+     * Stores a number of values into one item table using a single JDBC batch.
+     *
+     * All values are expected to belong to the same item, as each item has its own table.
+     *
+     * @param states the pending states to store, each with its own timestamp
+     * @param tableName the item table
+     * @throws JdbcSQLException on SQL errors
+     */
+    public void doStoreItemValues(List<JdbcPendingState> states, String tableName) throws JdbcSQLException {
+        if (states.isEmpty()) {
+            return;
+        }
+        String sql = "";
+        Object[][] params = new Object[states.size()][];
+        int i = 0;
+        for (JdbcPendingState pendingState : states) {
+            ItemVO storedVO = storeItemValueProvider(pendingState.getItem(), pendingState.getState(),
+                    new ItemVO(tableName, null));
+            if (sql.isEmpty()) {
+                sql = storeItemValueSqlProvider(storedVO, "?");
+            }
+            java.sql.Timestamp timestamp = new java.sql.Timestamp(pendingState.getDate().toInstant().toEpochMilli());
+            params[i++] = storeItemValueParamsProvider(storedVO, timestamp);
+        }
+        logger.debug("JDBC::doStoreItemValues sql={} rows={}", sql, params.length);
+        try {
+            Yank.executeBatch(sql, params);
+        } catch (YankSQLException e) {
+            throw new JdbcSQLException(e);
+        }
+    }
+
     public List<HistoricItem> doGetHistItemFilterQuery(Item item, FilterCriteria filter, int numberDecimalcount,
             String table, String name, ZoneId timeZone) throws JdbcSQLException {
         String sql = histItemFilterQueryProvider(filter, numberDecimalcount, table, name, timeZone);
@@ -478,6 +510,24 @@ public class JdbcBaseDAO {
                 .collect(Collectors.<HistoricItem> toList());
     }
 
+    /**
+     * Prepares a query, which reads its rows from the database while being iterated, so memory use does not depend
+     * on the number of rows returned.
+     *
+     * @param fetchSize number of rows fetched from the database at once
+     */
+    public JdbcHistoricItemCursor doGetHistItemFilterCursor(Item item, FilterCriteria filter, int numberDecimalcount,
+            String table, String name, ZoneId timeZone, int fetchSize, ScheduledExecutorService scheduler) {
+        String sql = histItemFilterQueryProvider(filter, numberDecimalcount, table, name, timeZone);
+        logger.debug("JDBC::doGetHistItemFilterCursor sql={}", sql);
+        // we already retrieve the unit here once as it is a very costly operation
+        String itemName = item.getName();
+        Unit<? extends Quantity<?>> unit = item instanceof NumberItem numberItem ? numberItem.getUnit() : null;
+        return new JdbcHistoricItemCursor(Yank.getDefaultConnectionPool(), scheduler, sql, fetchSize,
+                JdbcHistoricItemCursor.MAX_OPEN_TIME, (time, value) -> new JdbcHistoricItem(itemName,
+                        objectAsState(item, unit, value), objectAsZonedDateTime(time)));
+    }
+
     public void doDeleteItemValues(FilterCriteria filter, String table, ZoneId timeZone) throws JdbcSQLException {
         String sql = histItemFilterDeleteProvider(filter, table, timeZone);
         logger.debug("JDBC::doDeleteItemValues sql={}", sql);
@@ -654,6 +704,31 @@ public class JdbcBaseDAO {
         return vo;
     }
 
+    /**
+     * Builds the insert statement for a value prepared by {@link #storeItemValueProvider}.
+     *
+     * @param storedVO the prepared value
+     * @param tablePrimaryValue the SQL expression for the time column, "?" when the timestamp is passed as parameter
+     * @return the insert statement
+     */
+    protected String storeItemValueSqlProvider(ItemVO storedVO, @Nullable String tablePrimaryValue) {
+        return StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
+                new String[] { "#tableName#", "#tablePrimaryValue#" },
+                new String[] { storedVO.getTableName(), tablePrimaryValue });
+    }
+
+    /**
+     * Builds the parameters for the statement returned by {@link #storeItemValueSqlProvider}.
+     *
+     * @param storedVO the prepared value
+     * @param timestamp the timestamp to store, or null if the time column is set by the database
+     * @return the statement parameters
+     */
+    protected Object[] storeItemValueParamsProvider(ItemVO storedVO, java.sql.@Nullable Timestamp timestamp) {
+        return timestamp == null ? new Object[] { storedVO.getValue(), storedVO.getValue() }
+                : new Object[] { timestamp, storedVO.getValue(), storedVO.getValue() };
+    }
+
     /*****************
      * H E L P E R S *
      *****************/
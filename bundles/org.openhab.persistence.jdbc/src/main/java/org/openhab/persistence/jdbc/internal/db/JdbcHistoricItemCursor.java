@@ -0,0 +1,239 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal.db;
+
+import java.lang.ref.Cleaner;
+import java.lang.ref.Cleaner.Cleanable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+import javax.sql.DataSource;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.persistence.HistoricItem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link JdbcHistoricItemCursor} is the result of a query, which reads its rows from the database while being
+ * iterated instead of loading all of them into memory at once.
+ *
+ * Every call to {@link #iterator()} executes the query using its own connection. The connection is returned to the
+ * pool when the iterator is exhausted, when it is closed, when a database error occurs, when the iterator is garbage
+ * collected, or at the latest after <code>maxOpenTime</code>.
+ *
+ * A database error or the expiry of <code>maxOpenTime</code> after some rows have been returned makes the iterator
+ * throw an {@link IllegalStateException}, so a partial result cannot be mistaken for a complete one.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class JdbcHistoricItemCursor implements Iterable<HistoricItem> {
+
+    /**
+     * Maximum time an iterator keeps its connection, if not exhausted or closed before.
+     */
+    public static final Duration MAX_OPEN_TIME = Duration.ofMinutes(5);
+
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private final Logger logger = LoggerFactory.getLogger(JdbcHistoricItemCursor.class);
+
+    private final DataSource dataSource;
+    private final ScheduledExecutorService scheduler;
+    private final String sql;
+    private final int fetchSize;
+    private final Duration maxOpenTime;
+    private final BiFunction<Object, Object, HistoricItem> rowMapper;
+
+    /**
+     * Creates a new cursor.
+     *
+     * @param dataSource pool providing the connections
+     * @param scheduler scheduler used for releasing connections after <code>maxOpenTime</code>
+     * @param sql query returning the time in the first and the value in the second column
+     * @param fetchSize number of rows fetched from the database at once
+     * @param maxOpenTime maximum time an iterator keeps its connection
+     * @param rowMapper maps time and value of a row to a {@link HistoricItem}
+     */
+    public JdbcHistoricItemCursor(DataSource dataSource, ScheduledExecutorService scheduler, String sql,
+            int fetchSize, Duration maxOpenTime, BiFunction<Object, Object, HistoricItem> rowMapper) {
+        this.dataSource = dataSource;
+        this.scheduler = scheduler;
+        this.sql = sql;
+        this.fetchSize = fetchSize;
+        this.maxOpenTime = maxOpenTime;
+        this.rowMapper = rowMapper;
+    }
+
+    @Override
+    public CursorIterator iterator() {
+        return new CursorIterator();
+    }
+
+    /**
+     * Holds the JDBC resources of an iterator. Kept separate from the iterator, so the iterator can be garbage
+     * collected while the resources are still reachable for cleaning. Guarded by itself, as the resources may be
+     * released by the scheduler while the iterator is being used.
+     */
+    private static class Resources implements Runnable {
+        private @Nullable Connection connection;
+        private @Nullable Statement statement;
+        private @Nullable ResultSet resultSet;
+        private @Nullable ScheduledFuture<?> expiryJob;
+        private boolean expired = false;
+
+        synchronized void expire() {
+            expired = true;
+            run();
+        }
+
+        @Override
+        public synchronized void run() {
+            ScheduledFuture<?> expiryJob = this.expiryJob;
+            if (expiryJob != null) {
+                expiryJob.cancel(false);
+                this.expiryJob = null;
+            }
+            ResultSet resultSet = this.resultSet;
+            Statement statement = this.statement;
+            Connection connection = this.connection;
+            this.resultSet = null;
+            this.statement = null;
+            this.connection = null;
+            try {
+                if (resultSet != null) {
+                    resultSet.close();
+                }
+                if (statement != null) {
+                    statement.close();
+                }
+            } catch (SQLException e) {
+                // the connection is closed below anyway
+            }
+            if (connection != null) {
+                try {
+                    // nothing was written, just end the transaction opened for the cursor
+                    connection.rollback();
+                } catch (SQLException e) {
+                    // ignore, the pool resets the connection
+                }
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    // ignore
+                }
+            }
+        }
+    }
+
+    /**
+     * Iterator over the rows of one execution of the query.
+     */
+    public class CursorIterator implements Iterator<HistoricItem>, AutoCloseable {
+        private final Resources resources = new Resources();
+        private final Cleanable cleanable;
+        private @Nullable HistoricItem next;
+        private boolean started = false;
+        private boolean done = false;
+
+        private CursorIterator() {
+            cleanable = CLEANER.register(this, resources);
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !done) {
+                next = fetchNext();
+            }
+            return next != null;
+        }
+
+        @Override
+        public HistoricItem next() {
+            HistoricItem item = hasNext() ? next : null;
+            if (item == null) {
+                throw new NoSuchElementException();
+            }
+            next = null;
+            return item;
+        }
+
+        /**
+         * Returns the connection of this iterator to the pool. Only needed if the iterator is not exhausted.
+         */
+        @Override
+        public void close() {
+            done = true;
+            next = null;
+            cleanable.clean();
+        }
+
+        private @Nullable HistoricItem fetchNext() {
+            synchronized (resources) {
+                if (resources.expired) {
+                    close();
+                    throw new IllegalStateException(
+                            "Query result was closed after " + maxOpenTime.toSeconds() + " seconds, result is partial");
+                }
+                boolean reading = started;
+                try {
+                    ResultSet resultSet = started ? resources.resultSet : open();
+                    if (resultSet != null && resultSet.next()) {
+                        return rowMapper.apply(resultSet.getObject(1), resultSet.getObject(2));
+                    }
+                } catch (SQLException e) {
+                    close();
+                    if (reading) {
+                        throw new IllegalStateException("Unable to read query result, result is partial", e);
+                    }
+                    // nothing has been returned yet, like for a query failing without a cursor
+                    logger.warn("JDBC::cursor: Unable to execute query: {}", e.getMessage());
+                    return null;
+                } catch (RuntimeException e) {
+                    // e.g. a value which cannot be converted to a state
+                    close();
+                    throw e;
+                }
+                close();
+                return null;
+            }
+        }
+
+        private ResultSet open() throws SQLException {
+            started = true;
+            resources.expiryJob = scheduler.schedule(resources::expire, maxOpenTime.toMillis(),
+                    TimeUnit.MILLISECONDS);
+            Connection connection = dataSource.getConnection();
+            resources.connection = connection;
+            // most drivers, e.g. PostgreSQL, only use a cursor for the fetch size within a transaction
+            connection.setAutoCommit(false);
+            Statement statement = connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            resources.statement = statement;
+            statement.setFetchSize(fetchSize);
+            ResultSet resultSet = statement.executeQuery(sql);
+            resources.resultSet = resultSet;
+            return resultSet;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.items.Item;
+import org.openhab.core.types.State;
+import org.openhab.persistence.jdbc.internal.dto.JdbcPendingState;
+import org.openhab.persistence.jdbc.internal.exceptions.JdbcException;
+
+/**
+ * Tests the {@link JdbcWriteBuffer}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class JdbcWriteBufferTest {
+
+    private final ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+    private final List<List<JdbcPendingState>> batches = Collections.synchronizedList(new ArrayList<>());
+    private final Item item1 = mock(Item.class);
+    private final Item item2 = mock(Item.class);
+
+    @BeforeEach
+    public void setup() {
+        batches.clear();
+        when(item1.getName()).thenReturn("Item1");
+        when(item2.getName()).thenReturn("Item2");
+    }
+
+    private JdbcPendingState pendingState(Item item) {
+        return new JdbcPendingState(item, mock(State.class), ZonedDateTime.now());
+    }
+
+    @Test
+    void flushWritesOneBatchPerItem() {
+        JdbcWriteBuffer buffer = new JdbcWriteBuffer(scheduler, states -> batches.add(List.copyOf(states)), 10,
+                1000, 100, 1);
+        JdbcPendingState state1 = pendingState(item1);
+        JdbcPendingState state2 = pendingState(item2);
+        JdbcPendingState state3 = pendingState(item1);
+
+        buffer.add(state1);
+        buffer.add(state2);
+        buffer.add(state3);
+        assertThat(buffer.getPendingCount(), is(3));
+
+        buffer.flush();
+
+        assertThat(batches.size(), is(2));
+        assertThat(batches.get(0), contains(state1, state3));
+        assertThat(batches.get(1), contains(state2));
+        assertThat(buffer.getPendingCount(), is(0));
+        assertThat(buffer.getStoredCount(), is(3L));
+        assertThat(buffer.getBatchCount(), is(2L));
+    }
+
+    @Test
+    void flushSplitsBatchesAtBatchSize() {
+        JdbcWriteBuffer buffer = new JdbcWriteBuffer(scheduler, states -> batches.add(List.copyOf(states)), 2, 1000,
+                100, 1);
+        for (int i = 0; i < 5; i++) {
+            buffer.add(pendingState(item1));
+        }
+
+        buffer.flush();
+
+        assertThat(batches.size(), is(3));
+        assertThat(batches.get(2).size(), is(1));
+    }
+
+    @Test
+    void reachingBatchSizeSchedulesFlush() {
+        JdbcWriteBuffer buffer = new JdbcWriteBuffer(scheduler, states -> batches.add(List.copyOf(states)), 2, 1000,
+                100, 1);
+        buffer.add(pendingState(item1));
+        verify(scheduler, never()).execute(any());
+
+        buffer.add(pendingState(item2));
+        buffer.add(pendingState(item2));
+        verify(scheduler, times(1)).execute(any());
+    }
+
+    @Test
+    void fullBufferDropsStates() {
+        JdbcWriteBuffer buffer = new JdbcWriteBuffer(scheduler, states -> batches.add(List.copyOf(states)), 2, 1000,
+                3, 1);
+        assertThat(buffer.add(pendingState(item1)), is(true));
+        assertThat(buffer.add(pendingState(item1)), is(true));
+        assertThat(buffer.add(pendingState(item1)), is(true));
+        assertThat(buffer.add(pendingState(item1)), is(false));
+
+        assertThat(buffer.getDroppedCount(), is(1L));
+        assertThat(buffer.getHighWatermark(), is(3));
+
+        buffer.flush();
+        assertThat(buffer.add(pendingState(item1)), is(true));
+    }
+
+    @Test
+    void flushItemWritesOnlyStatesOfItem() {
+        JdbcWriteBuffer buffer = new JdbcWriteBuffer(scheduler, states -> batches.add(List.copyOf(states)), 10,
+                1000, 100, 2);
+        buffer.start();
+        JdbcPendingState state1 = pendingState(item1);
+        buffer.add(state1);
+        buffer.add(pendingState(item2));
+
+        buffer.flush("Item1");
+
+        assertThat(batches.size(), is(1));
+        assertThat(batches.get(0), contains(state1));
+        assertThat(buffer.getPendingCount(), is(1));
+
+        buffer.stop();
+        assertThat(batches.size(), is(2));
+    }
+
+    @Test
+    void failedBatchIsCounted() {
+        JdbcWriteBuffer buffer = new JdbcWriteBuffer(scheduler, states -> {
+            throw new JdbcException("failed");
+        }, 10, 1000, 100, 1);
+        buffer.add(pendingState(item1));
+        buffer.add(pendingState(item1));
+
+        buffer.flush();
+
+        assertThat(buffer.getFailedCount(), is(2L));
+        assertThat(buffer.getStoredCount(), is(0L));
+    }
+
+    @Test
+    void stopWritesPendingStates() {
+        JdbcWriteBuffer buffer = new JdbcWriteBuffer(scheduler, states -> batches.add(List.copyOf(states)), 10,
+                1000, 100, 1);
+        buffer.start();
+        buffer.add(pendingState(item1));
+
+        buffer.stop();
+
+        assertThat(batches.size(), is(1));
+    }
+
+    @Test
+    void writersKeepOrderPerItem() {
+        JdbcWriteBuffer buffer = new JdbcWriteBuffer(scheduler, states -> batches.add(List.copyOf(states)), 2, 1000,
+                100, 4);
+        buffer.start();
+        List<JdbcPendingState> item1States = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            JdbcPendingState state = pendingState(item1);
+            item1States.add(state);
+            buffer.add(state);
+            buffer.add(pendingState(item2));
+            if (i % 3 == 0) {
+                buffer.flush();
+            }
+        }
+
+        buffer.stop();
+
+        assertThat(buffer.getStoredCount(), is(20L));
+        assertThat(buffer.getPendingCount(), is(0));
+        List<JdbcPendingState> writtenItem1States = new ArrayList<>();
+        synchronized (batches) {
+            batches.stream().flatMap(List::stream).filter(state -> state.getItem() == item1)
+                    .forEach(writtenItem1States::add);
+        }
+        assertThat(writtenItem1States, is(item1States));
+    }
+}
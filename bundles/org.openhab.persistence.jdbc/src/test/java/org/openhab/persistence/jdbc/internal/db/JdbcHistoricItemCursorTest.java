@@ -0,0 +1,162 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal.db;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.openhab.core.persistence.HistoricItem;
+import org.openhab.persistence.jdbc.internal.db.JdbcHistoricItemCursor.CursorIterator;
+
+/**
+ * Tests the {@link JdbcHistoricItemCursor}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class JdbcHistoricItemCursorTest {
+
+    private static final String SQL = "SELECT time, value FROM testitem ORDER BY time ASC";
+
+    private final DataSource dataSource = mock(DataSource.class);
+    private final Connection connection = mock(Connection.class);
+    private final Statement statement = mock(Statement.class);
+    private final ResultSet resultSet = mock(ResultSet.class);
+    private final ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+    private final ScheduledFuture<?> expiryJob = mock(ScheduledFuture.class);
+
+    @BeforeEach
+    public void setup() throws SQLException {
+        doReturn(expiryJob).when(scheduler).schedule(any(Runnable.class), anyLong(), any());
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.createStatement(anyInt(), anyInt())).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(resultSet);
+    }
+
+    private JdbcHistoricItemCursor createCursor() {
+        return new JdbcHistoricItemCursor(dataSource, scheduler, SQL, 100, Duration.ofMinutes(5), (time, value) -> {
+            HistoricItem item = mock(HistoricItem.class);
+            when(item.getName()).thenReturn(time + "=" + value);
+            return item;
+        });
+    }
+
+    @Test
+    void iteratorReadsAllRowsAndReleasesConnection() throws SQLException {
+        when(resultSet.next()).thenReturn(true, true, false);
+        when(resultSet.getObject(1)).thenReturn("t1", "t2");
+        when(resultSet.getObject(2)).thenReturn("v1", "v2");
+
+        List<String> names = new ArrayList<>();
+        for (HistoricItem item : createCursor()) {
+            names.add(item.getName());
+        }
+
+        assertThat(names, is(List.of("t1=v1", "t2=v2")));
+        verify(statement).setFetchSize(100);
+        verify(connection).setAutoCommit(false);
+        verify(connection).close();
+        verify(expiryJob).cancel(false);
+    }
+
+    @Test
+    void queryIsNotExecutedBeforeIteration() throws SQLException {
+        createCursor().iterator();
+
+        verify(dataSource, never()).getConnection();
+    }
+
+    @Test
+    void closeReleasesConnectionOfUnfinishedIterator() throws SQLException {
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getObject(1)).thenReturn("t1");
+        when(resultSet.getObject(2)).thenReturn("v1");
+
+        CursorIterator iterator = createCursor().iterator();
+        iterator.next();
+        iterator.close();
+
+        assertThat(iterator.hasNext(), is(false));
+        verify(resultSet).close();
+        verify(statement).close();
+        verify(connection).close();
+    }
+
+    @Test
+    void databaseErrorWhileReadingIsThrownAndReleasesConnection() throws SQLException {
+        when(resultSet.next()).thenReturn(true).thenThrow(new SQLException("connection lost"));
+        when(resultSet.getObject(1)).thenReturn("t1");
+        when(resultSet.getObject(2)).thenReturn("v1");
+
+        CursorIterator iterator = createCursor().iterator();
+        iterator.next();
+
+        assertThrows(IllegalStateException.class, iterator::hasNext);
+        verify(connection).close();
+    }
+
+    @Test
+    void databaseErrorWhenExecutingReturnsEmptyResult() throws SQLException {
+        when(statement.executeQuery(anyString())).thenThrow(new SQLException("syntax error"));
+
+        CursorIterator iterator = createCursor().iterator();
+
+        assertThat(iterator.hasNext(), is(false));
+        verify(connection).close();
+    }
+
+    @Test
+    void connectionIsReleasedAfterMaxOpenTime() throws SQLException {
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getObject(1)).thenReturn("t1");
+        when(resultSet.getObject(2)).thenReturn("v1");
+
+        CursorIterator iterator = createCursor().iterator();
+        iterator.next();
+
+        ArgumentCaptor<Runnable> expiry = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).schedule(expiry.capture(), eq(Duration.ofMinutes(5).toMillis()), eq(TimeUnit.MILLISECONDS));
+        expiry.getValue().run();
+        verify(connection).close();
+
+        assertThrows(IllegalStateException.class, iterator::hasNext);
+    }
+}
@@ -35,12 +35,19 @@ public class JpaConfiguration {
     private static final String CFG_USERNAME = "user";
     private static final String CFG_PASSWORD = "password";
     private static final String CFG_SYNCMAPPING = "syncmappings";
+    private static final String CFG_BATCH_SIZE = "batchSize";
+    private static final String CFG_BATCH_INTERVAL = "batchInterval";
+
+    private static final int DEFAULT_BATCH_SIZE = 1;
+    private static final int DEFAULT_BATCH_INTERVAL = 1000;
 
     public final String dbConnectionUrl;
     public final String dbDriverClass;
     public final String dbUserName;
     public final String dbPassword;
     public final String dbSyncMapping;
+    public final int batchSize;
+    public final int batchInterval;
 
     public JpaConfiguration(final Map<String, @Nullable Object> properties) throws IllegalArgumentException {
         logger.debug("Creating JPA config...");
@@ -81,6 +88,25 @@ public class JpaConfiguration {
         }
         dbSyncMapping = param == null ? "" : param;
 
+        batchSize = Math.max(1, parseInt(properties, CFG_BATCH_SIZE, DEFAULT_BATCH_SIZE));
+        batchInterval = Math.max(0, parseInt(properties, CFG_BATCH_INTERVAL, DEFAULT_BATCH_INTERVAL));
+        logger.debug("batch size: {}, batch interval: {} ms", batchSize, batchInterval);
+
         logger.debug("Creating JPA config... done");
     }
+
+    private static int parseInt(final Map<String, @Nullable Object> properties, String key, int defaultValue)
+            throws IllegalArgumentException {
+        Object value = properties.get(key);
+        if (value == null) {
+            return defaultValue;
+        } else if (value instanceof Number number) {
+            return number.intValue();
+        }
+        try {
+            return Integer.parseInt(value.toString().trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + key + " '" + value + "' in JPA configuration!");
+        }
+    }
 }
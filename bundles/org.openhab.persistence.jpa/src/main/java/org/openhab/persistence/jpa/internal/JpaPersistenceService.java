@@ -12,20 +12,26 @@
  */
 package org.openhab.persistence.jpa.internal;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
 import javax.persistence.Persistence;
-import javax.persistence.Query;
+import javax.persistence.TypedQuery;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.NamedThreadFactory;
 import org.openhab.core.config.core.ConfigurableService;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemNotFoundException;
@@ -68,8 +74,18 @@ public class JpaPersistenceService implements QueryablePersistenceService {
 
     private final ItemRegistry itemRegistry;
 
+    // batches are persisted by the flush job, which blocks until the transaction is committed
+    private final ScheduledExecutorService scheduler = Executors
+            .newSingleThreadScheduledExecutor(new NamedThreadFactory(SERVICE_ID));
+
     private @Nullable EntityManagerFactory emf;
 
+    // items waiting to be persisted in one transaction
+    private final List<JpaPersistentItem> pendingItems = new ArrayList<>();
+    private @Nullable ScheduledFuture<?> flushJob;
+    // serializes the batch transactions, so that items are persisted in the order they were stored
+    private final Object persistLock = new Object();
+
     private @NonNullByDefault({}) JpaConfiguration config;
 
     private boolean initialized;
@@ -107,6 +123,11 @@ public class JpaPersistenceService implements QueryablePersistenceService {
     @Deactivate
     public void deactivate() {
         logger.debug("Deactivating JPA persistence service");
+        if (initialized) {
+            // waits for a flush job that is already running
+            flush();
+        }
+        scheduler.shutdownNow();
         closeEntityManagerFactory();
     }
 
@@ -155,22 +176,105 @@ public class JpaPersistenceService implements QueryablePersistenceService {
         pItem.setRealName(item.getName());
         pItem.setTimestamp(new Date());
 
+        if (config.batchSize <= 1) {
+            persist(List.of(pItem));
+        } else if (addToBatch(pItem)) {
+            flush();
+        }
+
+        logger.debug("Storing item...done");
+    }
+
+    /**
+     * Adds an item to the current batch. The batch is persisted when it is full or when the batch interval has passed
+     * since the first item was added.
+     *
+     * @return true if the batch is full and has to be persisted now
+     */
+    private synchronized boolean addToBatch(JpaPersistentItem pItem) {
+        pendingItems.add(pItem);
+        if (pendingItems.size() >= config.batchSize) {
+            return true;
+        }
+        if (flushJob == null) {
+            flushJob = scheduler.schedule(this::flush, config.batchInterval, TimeUnit.MILLISECONDS);
+        }
+        return false;
+    }
+
+    /**
+     * Takes all items out of the current batch.
+     */
+    private synchronized List<JpaPersistentItem> takeBatch() {
+        ScheduledFuture<?> job = flushJob;
+        if (job != null) {
+            job.cancel(false);
+            flushJob = null;
+        }
+        List<JpaPersistentItem> items = new ArrayList<>(pendingItems);
+        pendingItems.clear();
+        return items;
+    }
+
+    /**
+     * Persists all items of the current batch. The transaction runs without holding the lock of the batch, so that
+     * storing new items does not wait for the database.
+     */
+    private void flush() {
+        synchronized (persistLock) {
+            List<JpaPersistentItem> items = takeBatch();
+            if (!items.isEmpty()) {
+                persist(items);
+            }
+        }
+    }
+
+    /**
+     * Persists items in one transaction. If the transaction fails, the items are persisted one by one, so that only
+     * the items that caused the failure are lost.
+     *
+     * @param items the items to persist
+     */
+    private void persist(List<JpaPersistentItem> items) {
+        if (!persistInTransaction(items) && items.size() > 1) {
+            logger.debug("Persisting {} items one by one...", items.size());
+            // the rolled back entities may keep their generated ids, so fresh copies are persisted
+            items.forEach(pItem -> persistInTransaction(List.of(copy(pItem))));
+        }
+    }
+
+    private boolean persistInTransaction(List<JpaPersistentItem> items) {
         EntityManager em = getEntityManagerFactory().createEntityManager();
         try {
-            logger.debug("Persisting item...");
+            logger.debug("Persisting {} items...", items.size());
             // In RESOURCE_LOCAL calls to EntityManager require a begin/commit
             em.getTransaction().begin();
-            em.persist(pItem);
+            for (JpaPersistentItem pItem : items) {
+                em.persist(pItem);
+            }
             em.getTransaction().commit();
-            logger.debug("Persisting item...done");
+            logger.debug("Persisting {} items...done", items.size());
+            return true;
         } catch (Exception e) {
-            logger.error("Error while persisting item! Rolling back!", e);
+            if (items.size() == 1) {
+                logger.error("Error while persisting item {}! Rolling back!", items.get(0).getName(), e);
+            } else {
+                logger.warn("Error while persisting {} items! Rolling back: {}", items.size(), e.getMessage());
+            }
             em.getTransaction().rollback();
+            return false;
         } finally {
             em.close();
         }
+    }
 
-        logger.debug("Storing item...done");
+    private static JpaPersistentItem copy(JpaPersistentItem pItem) {
+        JpaPersistentItem copy = new JpaPersistentItem();
+        copy.setName(pItem.getName());
+        copy.setRealName(pItem.getRealName());
+        copy.setValue(pItem.getValue());
+        copy.setTimestamp(Date.from(pItem.getTimestamp().toInstant()));
+        return copy;
     }
 
     @Override
@@ -198,28 +302,15 @@ public class JpaPersistenceService implements QueryablePersistenceService {
             return List.of();
         }
 
-        String sortOrder;
-        if (filter.getOrdering() == Ordering.ASCENDING) {
-            sortOrder = "ASC";
-        } else {
-            sortOrder = "DESC";
-        }
+        // persist the current batch first, so that its items are included in the result
+        flush();
 
-        boolean hasBeginDate = false;
-        boolean hasEndDate = false;
-        String queryString = "SELECT n FROM " + JpaPersistentItem.class.getSimpleName()
-                + " n WHERE n.realName = :itemName";
-        if (filter.getBeginDate() != null) {
-            queryString += " AND n.timestamp >= :beginDate";
-            hasBeginDate = true;
-        }
-        if (filter.getEndDate() != null) {
-            queryString += " AND n.timestamp <= :endDate";
-            hasEndDate = true;
-        }
-        queryString += " ORDER BY n.timestamp " + sortOrder;
+        boolean hasBeginDate = filter.getBeginDate() != null;
+        boolean hasEndDate = filter.getEndDate() != null;
+        String queryName = JpaPersistentItem.getQueryName(hasBeginDate, hasEndDate,
+                filter.getOrdering() == Ordering.ASCENDING);
 
-        logger.debug("The query: {}", queryString);
+        logger.debug("The query: {}", queryName);
 
         EntityManager em = getEntityManagerFactory().createEntityManager();
         try {
@@ -227,7 +318,7 @@ public class JpaPersistenceService implements QueryablePersistenceService {
             em.getTransaction().begin();
 
             logger.debug("Creating query...");
-            Query query = em.createQuery(queryString);
+            TypedQuery<JpaPersistentItem> query = em.createNamedQuery(queryName, JpaPersistentItem.class);
             query.setParameter("itemName", item.getName());
             if (hasBeginDate) {
                 query.setParameter("beginDate", Date.from(filter.getBeginDate().toInstant()));
@@ -241,7 +332,6 @@ public class JpaPersistenceService implements QueryablePersistenceService {
             logger.debug("Creating query...done");
 
             logger.debug("Retrieving result list...");
-            @SuppressWarnings("unchecked")
             List<JpaPersistentItem> result = query.getResultList();
             logger.debug("Retrieving result list...done");
 
@@ -285,6 +375,10 @@ public class JpaPersistenceService implements QueryablePersistenceService {
             logger.info("You are setting openjpa.jdbc.SynchronizeMappings, I hope you know what you're doing!");
             properties.put("openjpa.jdbc.SynchronizeMappings", config.dbSyncMapping);
         }
+        if (config.batchSize > 1) {
+            // send the inserts of a batch to the database with JDBC statement batching
+            properties.put("openjpa.jdbc.DBDictionary", "batchLimit=" + config.batchSize);
+        }
 
         EntityManagerFactory factory = Persistence.createEntityManagerFactory(getPersistenceUnitName(), properties);
         logger.debug("Creating EntityManagerFactory...done");
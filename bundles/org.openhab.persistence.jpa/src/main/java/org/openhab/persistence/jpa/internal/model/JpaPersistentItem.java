@@ -22,6 +22,8 @@ import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.NamedQueries;
+import javax.persistence.NamedQuery;
 import javax.persistence.Table;
 import javax.persistence.Temporal;
 import javax.persistence.TemporalType;
@@ -40,9 +42,30 @@ import org.openhab.core.types.UnDefType;
 
 @Entity
 @Table(name = "HISTORIC_ITEM")
+@NamedQueries({ //
+        @NamedQuery(name = "JpaPersistentItem.findByRealNameAsc", query = "SELECT n FROM JpaPersistentItem n"
+                + " WHERE n.realName = :itemName ORDER BY n.timestamp ASC"),
+        @NamedQuery(name = "JpaPersistentItem.findByRealNameDesc", query = "SELECT n FROM JpaPersistentItem n"
+                + " WHERE n.realName = :itemName ORDER BY n.timestamp DESC"),
+        @NamedQuery(name = "JpaPersistentItem.findByRealNameAfterAsc", query = "SELECT n FROM JpaPersistentItem n"
+                + " WHERE n.realName = :itemName AND n.timestamp >= :beginDate ORDER BY n.timestamp ASC"),
+        @NamedQuery(name = "JpaPersistentItem.findByRealNameAfterDesc", query = "SELECT n FROM JpaPersistentItem n"
+                + " WHERE n.realName = :itemName AND n.timestamp >= :beginDate ORDER BY n.timestamp DESC"),
+        @NamedQuery(name = "JpaPersistentItem.findByRealNameBeforeAsc", query = "SELECT n FROM JpaPersistentItem n"
+                + " WHERE n.realName = :itemName AND n.timestamp <= :endDate ORDER BY n.timestamp ASC"),
+        @NamedQuery(name = "JpaPersistentItem.findByRealNameBeforeDesc", query = "SELECT n FROM JpaPersistentItem n"
+                + " WHERE n.realName = :itemName AND n.timestamp <= :endDate ORDER BY n.timestamp DESC"),
+        @NamedQuery(name = "JpaPersistentItem.findByRealNameBetweenAsc", query = "SELECT n FROM JpaPersistentItem n"
+                + " WHERE n.realName = :itemName AND n.timestamp >= :beginDate AND n.timestamp <= :endDate"
+                + " ORDER BY n.timestamp ASC"),
+        @NamedQuery(name = "JpaPersistentItem.findByRealNameBetweenDesc", query = "SELECT n FROM JpaPersistentItem n"
+                + " WHERE n.realName = :itemName AND n.timestamp >= :beginDate AND n.timestamp <= :endDate"
+                + " ORDER BY n.timestamp DESC") })
 @NonNullByDefault
 public class JpaPersistentItem implements HistoricItem {
 
+    private static final String QUERY_PREFIX = "JpaPersistentItem.findByRealName";
+
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO)
     private @NonNullByDefault({}) Long id;
@@ -101,6 +124,32 @@ public class JpaPersistentItem implements HistoricItem {
         return UnDefType.NULL;
     }
 
+    /**
+     * Returns the name of the named query for a filter. Named queries are parsed only once by the persistence
+     * provider, instead of on every query.
+     *
+     * All queries have the parameter <code>itemName</code>, and <code>beginDate</code> and/or <code>endDate</code>
+     * depending on the filter.
+     *
+     * @param hasBeginDate whether the filter has a begin date
+     * @param hasEndDate whether the filter has an end date
+     * @param ascending whether the results are in ascending order
+     * @return the name of the named query
+     */
+    public static String getQueryName(boolean hasBeginDate, boolean hasEndDate, boolean ascending) {
+        String range;
+        if (hasBeginDate && hasEndDate) {
+            range = "Between";
+        } else if (hasBeginDate) {
+            range = "After";
+        } else if (hasEndDate) {
+            range = "Before";
+        } else {
+            range = "";
+        }
+        return QUERY_PREFIX + range + (ascending ? "Asc" : "Desc");
+    }
+
     @Override
     public String toString() {
         return DateFormat.getDateTimeInstance().format(getTimestamp()) + ": " + getName() + " -> " + value;
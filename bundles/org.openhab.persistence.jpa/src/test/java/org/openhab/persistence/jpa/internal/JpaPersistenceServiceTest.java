@@ -0,0 +1,125 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jpa.internal;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.EntityTransaction;
+import javax.persistence.PersistenceException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.items.Item;
+import org.openhab.core.items.ItemRegistry;
+import org.openhab.core.library.types.StringType;
+import org.openhab.persistence.jpa.internal.model.JpaPersistentItem;
+import org.osgi.framework.BundleContext;
+
+/**
+ * Tests the batching of the {@link JpaPersistenceService}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class JpaPersistenceServiceTest {
+
+    private final EntityManagerFactory emf = mock(EntityManagerFactory.class);
+    private final EntityManager em = mock(EntityManager.class);
+    private final EntityTransaction transaction = mock(EntityTransaction.class);
+
+    @BeforeEach
+    public void setup() {
+        when(emf.createEntityManager()).thenReturn(em);
+        when(em.getTransaction()).thenReturn(transaction);
+    }
+
+    private JpaPersistenceService createService(int batchSize) {
+        Map<String, @Nullable Object> properties = new HashMap<>();
+        properties.put("url", "jdbc:derby:test");
+        properties.put("driver", "org.apache.derby.jdbc.EmbeddedDriver");
+        properties.put("batchSize", batchSize);
+        // long enough to never persist a batch because of the interval during a test
+        properties.put("batchInterval", 60000);
+        return new JpaPersistenceService(mock(BundleContext.class), properties, mock(ItemRegistry.class)) {
+            @Override
+            protected EntityManagerFactory newEntityManagerFactory() {
+                return emf;
+            }
+        };
+    }
+
+    private static Item item(String name) {
+        Item item = mock(Item.class);
+        when(item.getName()).thenReturn(name);
+        when(item.getState()).thenReturn(new StringType("value"));
+        return item;
+    }
+
+    @Test
+    void itemsAreStoredImmediatelyWithoutBatching() {
+        JpaPersistenceService service = createService(1);
+        service.store(item("Item1"));
+
+        verify(em).persist(any(JpaPersistentItem.class));
+        verify(transaction).commit();
+    }
+
+    @Test
+    void batchIsPersistedInOneTransactionWhenFull() {
+        JpaPersistenceService service = createService(3);
+        service.store(item("Item1"));
+        service.store(item("Item2"));
+        verify(emf, never()).createEntityManager();
+
+        service.store(item("Item3"));
+        verify(em, times(3)).persist(any(JpaPersistentItem.class));
+        verify(transaction, times(1)).begin();
+        verify(transaction, times(1)).commit();
+    }
+
+    @Test
+    void pendingItemsArePersistedOnDeactivation() {
+        JpaPersistenceService service = createService(3);
+        service.store(item("Item1"));
+        service.deactivate();
+
+        verify(em).persist(any(JpaPersistentItem.class));
+        verify(transaction).commit();
+    }
+
+    @Test
+    void failingItemDoesNotRollBackOtherItemsOfBatch() {
+        doThrow(new PersistenceException("bad row")).when(em)
+                .persist(argThat((JpaPersistentItem pItem) -> "Bad".equals(pItem.getName())));
+
+        JpaPersistenceService service = createService(3);
+        service.store(item("Item1"));
+        service.store(item("Bad"));
+        service.store(item("Item2"));
+
+        // the batch is rolled back, then every item is tried in its own transaction
+        verify(em, times(2)).persist(argThat((JpaPersistentItem pItem) -> "Item1".equals(pItem.getName())));
+        verify(em, times(1)).persist(argThat((JpaPersistentItem pItem) -> "Item2".equals(pItem.getName())));
+        verify(transaction, times(4)).begin();
+        verify(transaction, times(2)).commit();
+        verify(transaction, times(2)).rollback();
+    }
+}
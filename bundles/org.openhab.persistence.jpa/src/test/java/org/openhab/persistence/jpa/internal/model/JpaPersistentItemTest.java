@@ -0,0 +1,73 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jpa.internal.model;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import javax.persistence.NamedQueries;
+import javax.persistence.NamedQuery;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * Tests the named queries of the {@link JpaPersistentItem}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class JpaPersistentItemTest {
+
+    private static Set<String> getNamedQueries() {
+        NamedQueries namedQueries = JpaPersistentItem.class.getAnnotation(NamedQueries.class);
+        return Arrays.stream(namedQueries.value()).map(NamedQuery::name).collect(Collectors.toSet());
+    }
+
+    @ParameterizedTest
+    @CsvSource({ //
+            "false, false, true, JpaPersistentItem.findByRealNameAsc", //
+            "false, false, false, JpaPersistentItem.findByRealNameDesc", //
+            "true, false, true, JpaPersistentItem.findByRealNameAfterAsc", //
+            "true, false, false, JpaPersistentItem.findByRealNameAfterDesc", //
+            "false, true, true, JpaPersistentItem.findByRealNameBeforeAsc", //
+            "false, true, false, JpaPersistentItem.findByRealNameBeforeDesc", //
+            "true, true, true, JpaPersistentItem.findByRealNameBetweenAsc", //
+            "true, true, false, JpaPersistentItem.findByRealNameBetweenDesc" })
+    void queryNameMatchesNamedQuery(boolean hasBeginDate, boolean hasEndDate, boolean ascending, String expected) {
+        String queryName = JpaPersistentItem.getQueryName(hasBeginDate, hasEndDate, ascending);
+
+        assertThat(queryName, is(expected));
+        assertThat(getNamedQueries(), hasItem(queryName));
+    }
+
+    @Test
+    void everyNamedQueryIsUsed() {
+        Set<String> used = new HashSet<>();
+        for (boolean hasBeginDate : new boolean[] { false, true }) {
+            for (boolean hasEndDate : new boolean[] { false, true }) {
+                used.add(JpaPersistentItem.getQueryName(hasBeginDate, hasEndDate, true));
+                used.add(JpaPersistentItem.getQueryName(hasBeginDate, hasEndDate, false));
+            }
+        }
+
+        assertThat(used, is(getNamedQueries()));
+    }
+}
@@ -0,0 +1,280 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mapdb.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.library.types.DateTimeType;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.HSBType;
+import org.openhab.core.library.types.OnOffType;
+import org.openhab.core.library.types.OpenClosedType;
+import org.openhab.core.library.types.PercentType;
+import org.openhab.core.library.types.PlayPauseType;
+import org.openhab.core.library.types.PointType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.library.types.RawType;
+import org.openhab.core.library.types.RewindFastforwardType;
+import org.openhab.core.library.types.StringListType;
+import org.openhab.core.library.types.StringType;
+import org.openhab.core.library.types.UpDownType;
+import org.openhab.core.types.State;
+import org.openhab.core.types.TypeParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A compact binary codec for {@link MapDbItem}s.
+ *
+ * The common state types are written with a one byte type tag followed by their value, states without a value
+ * (like {@link OnOffType}) only need the tag. Any other state is written with its class name and full string like
+ * the {@link StateTypeAdapter} does.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class MapDbItemCodec {
+    private static final byte VERSION = 1;
+
+    private static final byte TYPE_OTHER = 0;
+    private static final byte TYPE_DECIMAL = 1;
+    private static final byte TYPE_PERCENT = 2;
+    private static final byte TYPE_QUANTITY = 3;
+    private static final byte TYPE_HSB = 4;
+    private static final byte TYPE_STRING = 5;
+    private static final byte TYPE_DATE_TIME = 6;
+    private static final byte TYPE_POINT = 7;
+    private static final byte TYPE_STRING_LIST = 8;
+    private static final byte TYPE_RAW = 9;
+    private static final byte TYPE_ON = 10;
+    private static final byte TYPE_OFF = 11;
+    private static final byte TYPE_OPEN = 12;
+    private static final byte TYPE_CLOSED = 13;
+    private static final byte TYPE_UP = 14;
+    private static final byte TYPE_DOWN = 15;
+    private static final byte TYPE_PLAY = 16;
+    private static final byte TYPE_PAUSE = 17;
+    private static final byte TYPE_REWIND = 18;
+    private static final byte TYPE_FASTFORWARD = 19;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MapDbItemCodec.class);
+
+    private MapDbItemCodec() {
+        // utility class
+    }
+
+    /**
+     * Encodes an item with its state and timestamp.
+     *
+     * @param item the item to encode
+     * @return the encoded item
+     */
+    public static byte[] encode(MapDbItem item) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            writeString(out, item.getName());
+            out.writeLong(item.getTimestamp().toInstant().toEpochMilli());
+            writeState(out, item.getState());
+        } catch (IOException e) {
+            // can not happen when writing to a byte array
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes an item encoded by {@link #encode(MapDbItem)}.
+     *
+     * @param data the encoded item
+     * @return the decoded item or <code>null</code> if it could not be decoded
+     */
+    public static @Nullable MapDbItem decode(byte[] data) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            byte version = in.readByte();
+            if (version != VERSION) {
+                LOGGER.warn("Couldn't decode item: unknown version {}", version);
+                return null;
+            }
+            MapDbItem item = new MapDbItem();
+            item.setName(readString(in));
+            item.setTimestamp(new Date(in.readLong()));
+            State state = readState(in);
+            if (state == null) {
+                return null;
+            }
+            item.setState(state);
+            return item;
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Couldn't decode item: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    static void writeState(DataOutput out, State state) throws IOException {
+        // check subclasses first, as HSBType extends PercentType which extends DecimalType
+        if (state instanceof HSBType hsb) {
+            out.writeByte(TYPE_HSB);
+            writeDecimal(out, hsb.getHue().toBigDecimal());
+            writeDecimal(out, hsb.getSaturation().toBigDecimal());
+            writeDecimal(out, hsb.getBrightness().toBigDecimal());
+        } else if (state instanceof PercentType percent) {
+            out.writeByte(TYPE_PERCENT);
+            writeDecimal(out, percent.toBigDecimal());
+        } else if (state instanceof DecimalType decimal) {
+            out.writeByte(TYPE_DECIMAL);
+            writeDecimal(out, decimal.toBigDecimal());
+        } else if (state instanceof QuantityType<?> quantity) {
+            out.writeByte(TYPE_QUANTITY);
+            writeString(out, quantity.toFullString());
+        } else if (state instanceof StringListType stringList) {
+            out.writeByte(TYPE_STRING_LIST);
+            writeString(out, stringList.toFullString());
+        } else if (state instanceof StringType string) {
+            out.writeByte(TYPE_STRING);
+            writeString(out, string.toFullString());
+        } else if (state instanceof DateTimeType dateTime) {
+            out.writeByte(TYPE_DATE_TIME);
+            writeString(out, dateTime.toFullString());
+        } else if (state instanceof PointType point) {
+            out.writeByte(TYPE_POINT);
+            writeString(out, point.toFullString());
+        } else if (state instanceof RawType raw) {
+            out.writeByte(TYPE_RAW);
+            writeString(out, raw.getMimeType());
+            byte[] bytes = raw.getBytes();
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        } else if (state instanceof OnOffType) {
+            out.writeByte(state == OnOffType.ON ? TYPE_ON : TYPE_OFF);
+        } else if (state instanceof OpenClosedType) {
+            out.writeByte(state == OpenClosedType.OPEN ? TYPE_OPEN : TYPE_CLOSED);
+        } else if (state instanceof UpDownType) {
+            out.writeByte(state == UpDownType.UP ? TYPE_UP : TYPE_DOWN);
+        } else if (state instanceof PlayPauseType) {
+            out.writeByte(state == PlayPauseType.PLAY ? TYPE_PLAY : TYPE_PAUSE);
+        } else if (state instanceof RewindFastforwardType) {
+            out.writeByte(state == RewindFastforwardType.REWIND ? TYPE_REWIND : TYPE_FASTFORWARD);
+        } else {
+            out.writeByte(TYPE_OTHER);
+            writeString(out, state.getClass().getName());
+            writeString(out, state.toFullString());
+        }
+    }
+
+    static @Nullable State readState(DataInput in) throws IOException {
+        byte type = in.readByte();
+        switch (type) {
+            case TYPE_DECIMAL:
+                return new DecimalType(readDecimal(in));
+            case TYPE_PERCENT:
+                return new PercentType(readDecimal(in));
+            case TYPE_QUANTITY:
+                return new QuantityType<>(readString(in));
+            case TYPE_HSB:
+                return new HSBType(new DecimalType(readDecimal(in)), new PercentType(readDecimal(in)),
+                        new PercentType(readDecimal(in)));
+            case TYPE_STRING:
+                return new StringType(readString(in));
+            case TYPE_DATE_TIME:
+                return new DateTimeType(readString(in));
+            case TYPE_POINT:
+                return new PointType(readString(in));
+            case TYPE_STRING_LIST:
+                return new StringListType(readString(in));
+            case TYPE_RAW:
+                String mimeType = readString(in);
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                return new RawType(bytes, mimeType);
+            case TYPE_ON:
+                return OnOffType.ON;
+            case TYPE_OFF:
+                return OnOffType.OFF;
+            case TYPE_OPEN:
+                return OpenClosedType.OPEN;
+            case TYPE_CLOSED:
+                return OpenClosedType.CLOSED;
+            case TYPE_UP:
+                return UpDownType.UP;
+            case TYPE_DOWN:
+                return UpDownType.DOWN;
+            case TYPE_PLAY:
+                return PlayPauseType.PLAY;
+            case TYPE_PAUSE:
+                return PlayPauseType.PAUSE;
+            case TYPE_REWIND:
+                return RewindFastforwardType.REWIND;
+            case TYPE_FASTFORWARD:
+                return RewindFastforwardType.FASTFORWARD;
+            case TYPE_OTHER:
+                return readOtherState(readString(in), readString(in));
+            default:
+                LOGGER.warn("Couldn't decode state: unknown type {}", type);
+                return null;
+        }
+    }
+
+    private static @Nullable State readOtherState(String valueTypeName, String valueAsString) {
+        try {
+            @SuppressWarnings("unchecked")
+            Class<? extends State> valueType = (Class<? extends State>) Class.forName(valueTypeName);
+            return TypeParser.parseState(List.of(valueType), valueAsString);
+        } catch (ClassNotFoundException | ClassCastException e) {
+            LOGGER.warn("Couldn't decode state '{}' of type '{}': {}", valueAsString, valueTypeName, e.getMessage());
+            return null;
+        }
+    }
+
+    private static void writeDecimal(DataOutput out, BigDecimal value) throws IOException {
+        byte[] unscaled = value.unscaledValue().toByteArray();
+        out.writeInt(value.scale());
+        out.writeInt(unscaled.length);
+        out.write(unscaled);
+    }
+
+    private static BigDecimal readDecimal(DataInput in) throws IOException {
+        int scale = in.readInt();
+        byte[] unscaled = new byte[in.readInt()];
+        in.readFully(unscaled);
+        return new BigDecimal(new BigInteger(unscaled), scale);
+    }
+
+    /**
+     * Writes a string of any length, unlike {@link DataOutput#writeUTF(String)} which is limited to 64 kB.
+     */
+    private static void writeString(DataOutput out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
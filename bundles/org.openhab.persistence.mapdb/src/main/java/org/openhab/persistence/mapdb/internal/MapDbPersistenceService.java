@@ -24,7 +24,9 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -32,6 +34,7 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.mapdb.DB;
 import org.mapdb.DBMaker;
+import org.mapdb.Serializer;
 import org.openhab.core.OpenHAB;
 import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.items.Item;
@@ -68,20 +71,27 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
     private static final Path DB_DIR = new File(OpenHAB.getUserDataFolder(), "persistence").toPath().resolve("mapdb");
     private static final Path BACKUP_DIR = DB_DIR.resolve("backup");
     private static final String DB_FILE_NAME = "storage.mapdb";
+    private static final String ITEM_STORE_NAME = "items";
+    private static final String LEGACY_ITEM_STORE_NAME = "itemStore";
+
+    // changes are committed together, at the latest after the delay or when the number of changes is reached
+    private static final long COMMIT_DELAY_MS = 200;
+    private static final int COMMIT_MAX_CHANGES = 1000;
 
     private final Logger logger = LoggerFactory.getLogger(MapDbPersistenceService.class);
 
-    private final ExecutorService threadPool = ThreadPoolManager.getPool(getClass().getSimpleName());
+    private final ScheduledExecutorService threadPool = ThreadPoolManager
+            .getScheduledPool(getClass().getSimpleName());
 
     /**
      * holds the local instance of the MapDB database
      */
 
     private @NonNullByDefault({}) DB db;
-    private @NonNullByDefault({}) Map<String, String> map;
+    private @NonNullByDefault({}) Map<String, byte[]> map;
 
-    private transient Gson mapper = new GsonBuilder().registerTypeHierarchyAdapter(State.class, new StateTypeAdapter())
-            .create();
+    private int uncommittedChanges = 0;
+    private @Nullable ScheduledFuture<?> commitJob;
 
     @Activate
     public void activate() {
@@ -98,7 +108,7 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
         File dbFile = DB_DIR.resolve(DB_FILE_NAME).toFile();
         try {
             db = DBMaker.newFileDB(dbFile).closeOnJvmShutdown().make();
-            map = db.createTreeMap("itemStore").makeOrGet();
+            openItemStore();
         } catch (RuntimeException re) {
             Throwable cause = re.getCause();
             if (cause instanceof ClassNotFoundException cnf) {
@@ -130,7 +140,7 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
                 }
 
                 db = DBMaker.newFileDB(dbFile).closeOnJvmShutdown().make();
-                map = db.createTreeMap("itemStore").makeOrGet();
+                openItemStore();
             } else {
                 logger.warn("Failed to create or open the MapDB: {}", re.getMessage());
                 logger.warn("MapDB persistence service activation has failed.");
@@ -139,10 +149,40 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
         logger.debug("MapDB persistence service is now activated");
     }
 
+    private void openItemStore() {
+        map = db.createTreeMap(ITEM_STORE_NAME).valueSerializer(Serializer.BYTE_ARRAY).makeOrGet();
+        if (db.exists(LEGACY_ITEM_STORE_NAME)) {
+            migrateLegacyItemStore();
+        }
+    }
+
+    /**
+     * Converts the items of the JSON based item store used by previous versions to the binary format.
+     */
+    @SuppressWarnings("null")
+    private void migrateLegacyItemStore() {
+        Gson mapper = new GsonBuilder().registerTypeHierarchyAdapter(State.class, new StateTypeAdapter()).create();
+        Map<String, String> legacyMap = db.getTreeMap(LEGACY_ITEM_STORE_NAME);
+        int migrated = 0;
+        for (Map.Entry<String, String> entry : legacyMap.entrySet()) {
+            MapDbItem item = mapper.<MapDbItem> fromJson(entry.getValue(), MapDbItem.class);
+            if (item == null || !item.isValid()) {
+                logger.warn("Skipping invalid item '{}' while migrating the MapDB", entry.getKey());
+                continue;
+            }
+            map.put(entry.getKey(), MapDbItemCodec.encode(item));
+            migrated++;
+        }
+        db.delete(LEGACY_ITEM_STORE_NAME);
+        db.commit();
+        logger.info("Migrated {} items to the binary MapDB format", migrated);
+    }
+
     @Deactivate
     public void deactivate() {
         logger.debug("MapDB persistence service deactivated");
         if (db != null) {
+            commit();
             db.close();
         }
     }
@@ -184,35 +224,59 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
         mItem.setState(state);
         mItem.setTimestamp(new Date());
         threadPool.submit(() -> {
-            String json = serialize(mItem);
-            map.put(localAlias, json);
-            db.commit();
-            logger.debug("Stored '{}' with state '{}' as '{}' in MapDB database", localAlias, state, json);
+            map.put(localAlias, MapDbItemCodec.encode(mItem));
+            logger.debug("Stored '{}' with state '{}' in MapDB database", localAlias, state);
+            scheduleCommit();
         });
     }
 
+    /**
+     * Schedules a commit of the changes, so that a burst of changes is committed at once instead of committing
+     * every single change.
+     */
+    private synchronized void scheduleCommit() {
+        if (++uncommittedChanges >= COMMIT_MAX_CHANGES) {
+            commit();
+        } else if (commitJob == null) {
+            commitJob = threadPool.schedule(this::commit, COMMIT_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private synchronized void commit() {
+        ScheduledFuture<?> job = commitJob;
+        if (job != null) {
+            job.cancel(false);
+            commitJob = null;
+        }
+        if (uncommittedChanges == 0) {
+            return;
+        }
+        try {
+            db.commit();
+            logger.debug("Committed {} changes to MapDB database", uncommittedChanges);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to commit {} changes to MapDB database: {}", uncommittedChanges, e.getMessage());
+        }
+        uncommittedChanges = 0;
+    }
+
     @Override
     public Iterable<HistoricItem> query(FilterCriteria filter) {
-        String json = map.get(filter.getItemName());
-        if (json == null) {
+        byte[] data = map.get(filter.getItemName());
+        if (data == null) {
             return List.of();
         }
-        Optional<MapDbItem> item = deserialize(json);
+        Optional<MapDbItem> item = deserialize(data);
         return item.isPresent() ? List.of(item.get()) : List.of();
     }
 
-    private String serialize(MapDbItem item) {
-        return mapper.toJson(item);
-    }
-
-    @SuppressWarnings("null")
-    private Optional<MapDbItem> deserialize(String json) {
-        MapDbItem item = mapper.<MapDbItem> fromJson(json, MapDbItem.class);
+    private Optional<MapDbItem> deserialize(byte[] data) {
+        MapDbItem item = MapDbItemCodec.decode(data);
         if (item == null || !item.isValid()) {
             logger.warn("Deserialized invalid item: {}", item);
             return Optional.empty();
         } else if (logger.isDebugEnabled()) {
-            logger.debug("Deserialized '{}' with state '{}' from '{}'", item.getName(), item.getState(), json);
+            logger.debug("Deserialized '{}' with state '{}'", item.getName(), item.getState());
         }
 
         return Optional.of(item);
@@ -17,14 +17,23 @@ import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.bson.types.ObjectId;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.NamedThreadFactory;
+import org.openhab.core.config.core.ConfigParser;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemNotFoundException;
 import org.openhab.core.items.ItemRegistry;
@@ -60,11 +69,18 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.mongodb.BasicDBObject;
+import com.mongodb.BulkWriteError;
+import com.mongodb.BulkWriteException;
+import com.mongodb.BulkWriteOperation;
+import com.mongodb.DB;
 import com.mongodb.DBCollection;
 import com.mongodb.DBCursor;
 import com.mongodb.DBObject;
 import com.mongodb.MongoClient;
 import com.mongodb.MongoClientURI;
+import com.mongodb.MongoException;
+import com.mongodb.MongoSocketException;
+import com.mongodb.MongoTimeoutException;
 
 /**
  * This is the implementation of the MongoDB {@link PersistenceService}.
@@ -83,12 +99,37 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
     private static final String FIELD_TIMESTAMP = "timestamp";
     private static final String FIELD_VALUE = "value";
 
+    private static final int DEFAULT_WRITE_BUFFER_SIZE = 100;
+    private static final long DEFAULT_WRITE_BUFFER_INTERVAL = 1000; // in ms
+    private static final long RETRY_INTERVAL = 10; // in s
+    // documents kept while the database is not reachable, older ones are dropped
+    private static final int MAX_PENDING_DOCUMENTS = 10000;
+
     private final Logger logger = LoggerFactory.getLogger(MongoDBPersistenceService.class);
 
+    // bulk inserts block until the database answers, so they get their own thread
+    private final ScheduledExecutorService scheduler = Executors
+            .newSingleThreadScheduledExecutor(new NamedThreadFactory("mongodb"));
+
     private String url = "";
     private String db = "";
     private String collection = "";
     private boolean collectionPerItem;
+    private boolean timeSeries;
+    private int writeBufferSize = DEFAULT_WRITE_BUFFER_SIZE;
+    private long writeBufferInterval = DEFAULT_WRITE_BUFFER_INTERVAL;
+
+    // documents which are not yet written, by collection name
+    private final Map<String, List<DBObject>> pendingDocuments = new LinkedHashMap<>();
+    private int pendingCount = 0;
+    private @Nullable ScheduledFuture<?> flushJob;
+    // true if a flush is already due, either because the buffer is full or as a retry
+    private boolean flushRequested = false;
+    // serializes the writes, so that documents are written in the order they were stored
+    private final Object writeLock = new Object();
+
+    // collections for which the indexes have already been created
+    private final Set<String> preparedCollections = ConcurrentHashMap.newKeySet();
 
     private boolean initialized = false;
 
@@ -127,6 +168,14 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
         collection = dbCollection == null ? "" : dbCollection;
         collectionPerItem = dbCollection == null || dbCollection.isBlank();
 
+        timeSeries = ConfigParser.valueAsOrElse(config.get("timeSeries"), Boolean.class, false);
+        writeBufferSize = Math.max(1,
+                ConfigParser.valueAsOrElse(config.get("writeBufferSize"), Integer.class, DEFAULT_WRITE_BUFFER_SIZE));
+        writeBufferInterval = Math.max(0, ConfigParser.valueAsOrElse(config.get("writeBufferInterval"), Long.class,
+                DEFAULT_WRITE_BUFFER_INTERVAL));
+        logger.debug("MongoDB time series {}, write buffer size {}, write buffer interval {} ms", timeSeries,
+                writeBufferSize, writeBufferInterval);
+
         if (!tryConnectToDatabase()) {
             logger.warn("Failed to connect to MongoDB server. Trying to reconnect later.");
         }
@@ -137,6 +186,30 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
     @Deactivate
     public void deactivate(final int reason) {
         logger.debug("MongoDB persistence bundle stopping. Disconnecting from database.");
+        initialized = false;
+        synchronized (this) {
+            ScheduledFuture<?> job = flushJob;
+            if (job != null) {
+                job.cancel(false);
+                flushJob = null;
+            }
+        }
+        scheduler.shutdown();
+        try {
+            if (!scheduler.awaitTermination(RETRY_INTERVAL, TimeUnit.SECONDS)) {
+                logger.warn("MongoDB writer did not finish in time.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        synchronized (this) {
+            // the scheduler is stopped, so there is no later attempt
+            if (pendingCount > 0) {
+                logger.warn("mongodb: Could not write {} item states before stopping, they are lost.", pendingCount);
+                clearPendingDocuments();
+            }
+        }
         disconnectFromDatabase();
     }
 
@@ -163,26 +236,9 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
             return;
         }
 
-        // Connect to mongodb server if we're not already connected
-        // If we can't connect, log.
-        if (!tryConnectToDatabase()) {
-            logger.warn(
-                    "mongodb: No connection to database. Cannot persist item '{}'! Will retry connecting to database next time.",
-                    item);
-            return;
-        }
-
         String realItemName = item.getName();
         String collectionName = collectionPerItem ? realItemName : this.collection;
 
-        @Nullable
-        DBCollection collection = connectToCollection(collectionName);
-
-        if (collection == null) {
-            // Logging is done in connectToCollection()
-            return;
-        }
-
         String name = (alias != null) ? alias : realItemName;
         Object value = this.convertValue(item.getState());
 
@@ -192,11 +248,156 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
         obj.put(FIELD_REALNAME, realItemName);
         obj.put(FIELD_TIMESTAMP, new Date());
         obj.put(FIELD_VALUE, value);
-        collection.save(obj);
+        addDocument(collectionName, obj);
 
         logger.debug("MongoDB save {}={}", name, value);
     }
 
+    /**
+     * Adds a document to the write buffer. The buffer is written when it is full or when the write buffer interval
+     * has passed since the first buffered document. Writing is done by the scheduler, so that storing never waits
+     * for the database.
+     */
+    private synchronized void addDocument(String collectionName, DBObject document) {
+        pendingDocuments.computeIfAbsent(collectionName, name -> new ArrayList<>()).add(document);
+        pendingCount++;
+        if (pendingCount >= writeBufferSize) {
+            if (!flushRequested) {
+                flushRequested = true;
+                schedule(0);
+            }
+        } else if (flushJob == null) {
+            flushJob = schedule(writeBufferInterval);
+        }
+    }
+
+    private @Nullable ScheduledFuture<?> schedule(long delay) {
+        try {
+            return scheduler.schedule(this::flush, delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // the service is stopping, the documents are written by deactivate()
+            return null;
+        }
+    }
+
+    /**
+     * Writes all buffered documents with one ordered bulk insert per collection. The documents are taken out of the
+     * buffer first, so that storing is not blocked while writing. If the database can't be reached, they are put
+     * back into the buffer and writing is retried later.
+     */
+    private void flush() {
+        synchronized (writeLock) {
+            Map<String, List<DBObject>> documents;
+            synchronized (this) {
+                ScheduledFuture<?> job = flushJob;
+                if (job != null) {
+                    job.cancel(false);
+                    flushJob = null;
+                }
+                flushRequested = false;
+                if (pendingCount == 0) {
+                    return;
+                }
+                documents = new LinkedHashMap<>(pendingDocuments);
+                clearPendingDocuments();
+            }
+
+            // Connect to mongodb server if we're not already connected
+            // If we can't connect, log.
+            if (!tryConnectToDatabase()) {
+                logger.warn("mongodb: No connection to database. Keeping the item states to write them later.");
+                restoreDocuments(documents);
+                return;
+            }
+
+            Map<String, List<DBObject>> unwritten = new LinkedHashMap<>();
+            for (Map.Entry<String, List<DBObject>> entry : documents.entrySet()) {
+                @Nullable
+                DBCollection collection = connectToCollection(entry.getKey());
+                if (collection == null) {
+                    // Logging is done in connectToCollection()
+                    unwritten.put(entry.getKey(), entry.getValue());
+                    continue;
+                }
+                try {
+                    BulkWriteOperation bulkWrite = collection.initializeOrderedBulkOperation();
+                    entry.getValue().forEach(bulkWrite::insert);
+                    bulkWrite.execute();
+                    logger.debug("MongoDB wrote {} documents to collection {}", entry.getValue().size(),
+                            entry.getKey());
+                } catch (BulkWriteException e) {
+                    // an ordered bulk insert stops at the first rejected document, the ones before it are written
+                    List<BulkWriteError> errors = e.getWriteErrors();
+                    if (errors.isEmpty()) {
+                        logger.warn("Collection {} did not acknowledge {} documents: {}", entry.getKey(),
+                                entry.getValue().size(), e.getMessage());
+                        continue;
+                    }
+                    BulkWriteError error = errors.get(0);
+                    logger.error("Collection {} rejected a document, dropping it: {}", entry.getKey(),
+                            error.getMessage());
+                    List<DBObject> remaining = entry.getValue().subList(error.getIndex() + 1, entry.getValue().size());
+                    if (!remaining.isEmpty()) {
+                        unwritten.put(entry.getKey(), new ArrayList<>(remaining));
+                    }
+                } catch (MongoSocketException | MongoTimeoutException e) {
+                    logger.warn("Failed to write {} documents to collection {}, keeping them to write them later: {}",
+                            entry.getValue().size(), entry.getKey(), e.getMessage());
+                    unwritten.put(entry.getKey(), entry.getValue());
+                } catch (MongoException e) {
+                    logger.error("Failed to write {} documents to collection {}: {}", entry.getValue().size(),
+                            entry.getKey(), e.getMessage());
+                }
+            }
+            if (!unwritten.isEmpty()) {
+                restoreDocuments(unwritten);
+            }
+        }
+    }
+
+    /**
+     * Puts documents which could not be written back in front of the buffer, and schedules another attempt. The
+     * oldest documents are dropped if the buffer would exceed {@link #MAX_PENDING_DOCUMENTS}.
+     */
+    private synchronized void restoreDocuments(Map<String, List<DBObject>> documents) {
+        int count = documents.values().stream().mapToInt(List::size).sum();
+        for (Map.Entry<String, List<DBObject>> entry : pendingDocuments.entrySet()) {
+            documents.computeIfAbsent(entry.getKey(), name -> new ArrayList<>()).addAll(entry.getValue());
+        }
+        count += pendingCount;
+        clearPendingDocuments();
+
+        int dropped = 0;
+        for (List<DBObject> list : documents.values()) {
+            int drop = Math.min(list.size(), count - dropped - MAX_PENDING_DOCUMENTS);
+            if (drop > 0) {
+                list.subList(0, drop).clear();
+                dropped += drop;
+            }
+        }
+        if (dropped > 0) {
+            logger.warn("mongodb: Too many item states buffered. Dropped the {} oldest ones.", dropped);
+        }
+        documents.forEach((name, list) -> {
+            if (!list.isEmpty()) {
+                pendingDocuments.put(name, list);
+            }
+        });
+        pendingCount = count - dropped;
+
+        ScheduledFuture<?> job = flushJob;
+        if (job != null) {
+            job.cancel(false);
+        }
+        flushJob = schedule(TimeUnit.SECONDS.toMillis(RETRY_INTERVAL));
+        flushRequested = true;
+    }
+
+    private void clearPendingDocuments() {
+        pendingDocuments.clear();
+        pendingCount = 0;
+    }
+
     private Object convertValue(State state) {
         Object value;
         if (state instanceof PercentType type) {
@@ -296,11 +497,24 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
                 return null;
             }
 
-            DBCollection mongoCollection = db.getDB(this.db).getCollection(collectionName);
+            DB database = db.getDB(this.db);
+            if (preparedCollections.contains(collectionName)) {
+                return database.getCollection(collectionName);
+            }
+
+            if (timeSeries && !database.collectionExists(collectionName)) {
+                // the item name is the meta field, so that the values of an item are stored together
+                BasicDBObject options = new BasicDBObject("timeseries",
+                        new BasicDBObject("timeField", FIELD_TIMESTAMP).append("metaField", FIELD_ITEM));
+                database.createCollection(collectionName, options);
+                logger.debug("Created time series collection {}", collectionName);
+            }
+            DBCollection mongoCollection = database.getCollection(collectionName);
 
             BasicDBObject idx = new BasicDBObject();
             idx.append(FIELD_ITEM, 1).append(FIELD_TIMESTAMP, 1);
             mongoCollection.createIndex(idx);
+            preparedCollections.add(collectionName);
 
             return mongoCollection;
         } catch (Exception e) {
@@ -318,6 +532,7 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
         }
 
         cl = null;
+        preparedCollections.clear();
     }
 
     @Override
@@ -326,6 +541,9 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
             return Collections.emptyList();
         }
 
+        // write buffered states first, so that they are included in the result
+        flush();
+
         if (!tryConnectToDatabase()) {
             return Collections.emptyList();
         }
@@ -387,7 +605,8 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
         logger.debug("Query: {}", query);
 
         Integer sortDir = (filter.getOrdering() == Ordering.ASCENDING) ? 1 : -1;
-        DBCursor cursor = collection.find(query).sort(new BasicDBObject(FIELD_TIMESTAMP, sortDir))
+        BasicDBObject projection = new BasicDBObject(FIELD_ID, 0).append(FIELD_TIMESTAMP, 1).append(FIELD_VALUE, 1);
+        DBCursor cursor = collection.find(query, projection).sort(new BasicDBObject(FIELD_TIMESTAMP, sortDir))
                 .skip(filter.getPageNumber() * filter.getPageSize()).limit(filter.getPageSize());
 
         while (cursor.hasNext()) {
@@ -20,14 +20,20 @@ import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
@@ -109,9 +115,17 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
     private static final Set<String> SUPPORTED_TYPES = Set.of(CoreItemFactory.SWITCH, CoreItemFactory.CONTACT,
             CoreItemFactory.DIMMER, CoreItemFactory.NUMBER, CoreItemFactory.ROLLERSHUTTER, CoreItemFactory.COLOR);
 
+    private static final int WRITER_THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
     private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1,
             new NamedThreadFactory("RRD4j"));
 
+    // each database file is written by a single task per store cycle, so files are written in parallel while the
+    // samples of one file stay in order
+    private final ExecutorService writers = Executors.newFixedThreadPool(WRITER_THREADS,
+            new NamedThreadFactory("RRD4j-writer"));
+
     private final Map<String, RrdDefConfig> rrdDefs = new ConcurrentHashMap<>();
 
     private final ConcurrentSkipListMap<Long, Map<String, Double>> storageMap = new ConcurrentSkipListMap<>();
@@ -256,9 +270,24 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
     protected void deactivate() {
         active = false;
         storeJob.cancel(false);
+        // wait for a running store cycle, so the final one can not write concurrently or overtake its samples
+        scheduler.shutdown();
+        awaitTermination(scheduler, "store job");
 
         // make sure we really store everything
         doStore(true);
+        writers.shutdown();
+        awaitTermination(writers, "writers");
+    }
+
+    private void awaitTermination(ExecutorService executor, String name) {
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                logger.warn("RRD4j {} did not finish within {} seconds", name, SHUTDOWN_TIMEOUT_SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
     }
 
     @Override
@@ -325,6 +354,8 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
     }
 
     private void doStore(boolean force) {
+        // collect all samples which are due, so that each database file is only opened once
+        Map<String, SortedMap<Long, Double>> points = new HashMap<>();
         while (!storageMap.isEmpty()) {
             long timestamp = storageMap.firstKey();
             long now = System.currentTimeMillis() / 1000;
@@ -332,14 +363,39 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
                 // no new elements can be added for this timestamp because we are already past that time or the service
                 // requires forced storing
                 Map<String, Double> values = storageMap.pollFirstEntry().getValue();
-                values.forEach((name, value) -> writePointToDatabase(name, value, timestamp));
+                values.forEach(
+                        (name, value) -> points.computeIfAbsent(name, n -> new TreeMap<>()).put(timestamp, value));
             } else {
+                break;
+            }
+        }
+        if (points.isEmpty()) {
+            return;
+        }
+
+        List<Future<?>> futures = new ArrayList<>();
+        points.forEach((name, samples) -> {
+            try {
+                futures.add(writers.submit(() -> writePointsToDatabase(name, samples)));
+            } catch (RejectedExecutionException e) {
+                // the service is shutting down, write in this thread instead
+                writePointsToDatabase(name, samples);
+            }
+        });
+        // wait for all files, so the next cycle can not overtake samples of this cycle
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
                 return;
+            } catch (ExecutionException e) {
+                logger.warn("Failed to store values in rrd4j database: {}", e.getCause().getMessage());
             }
         }
     }
 
-    private synchronized void writePointToDatabase(String name, double value, long timestamp) {
+    private void writePointsToDatabase(String name, SortedMap<Long, Double> samples) {
         RrdDb db = null;
         try {
             db = getDB(name, true);
@@ -350,6 +406,20 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
             return;
         }
 
+        try {
+            for (Map.Entry<Long, Double> sample : samples.entrySet()) {
+                writePointToDatabase(db, name, sample.getValue(), sample.getKey());
+            }
+        } finally {
+            try {
+                db.close();
+            } catch (IOException e) {
+                logger.debug("Error closing rrd4j database: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void writePointToDatabase(RrdDb db, String name, double value, long timestamp) {
         ConsolFun function = getConsolidationFunction(db);
         if (function != ConsolFun.AVERAGE) {
             try {
@@ -386,11 +456,6 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         } catch (Exception e) {
             logger.warn("Could not persist '{}' to rrd4j database: {}", name, e.getMessage());
         }
-        try {
-            db.close();
-        } catch (IOException e) {
-            logger.debug("Error closing rrd4j database: {}", e.getMessage());
-        }
     }
 
     @Override
@@ -514,7 +579,11 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         return Set.of();
     }
 
-    protected synchronized @Nullable RrdDb getDB(String alias, boolean createFileIfAbsent) {
+    /**
+     * Opens the database of an item. The instance is shared through the {@link RrdDbPool}, so concurrent callers
+     * for the same file get the same instance, and it has to be closed after use.
+     */
+    protected @Nullable RrdDb getDB(String alias, boolean createFileIfAbsent) {
         RrdDb db = null;
         Path path = getDatabasePath(alias);
         try {
@@ -0,0 +1,181 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.rrd4j.internal.charts;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * The {@link RRD4jChartCache} keeps recently rendered charts, so that dashboards requesting the same chart over and over
+ * again do not render it every time. Charts are kept in the form they are served in, i.e. as encoded images for the
+ * servlet and as uncompressed images for the chart provider.
+ *
+ * A chart is only reused as long as none of the databases it shows received a new row and the chart has not moved by
+ * more than one pixel on the time axis since it was rendered. The least recently used charts are removed when the
+ * cached images exceed the byte budget, uncompressed images being counted with the size of their pixel data.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class RRD4jChartCache {
+
+    public static final long DEFAULT_MAX_BYTES = 8 * 1024 * 1024;
+
+    /**
+     * Identifies a chart independently of the time it was requested at.
+     *
+     * @param itemNames the names of all items shown, in the order of the chart series
+     * @param period the length of the time axis in seconds
+     */
+    public record Key(List<String> itemNames, long period, int width, int height, @Nullable String theme,
+            @Nullable Integer dpi, @Nullable Boolean legend) {
+    }
+
+    private record Entry(Object image, long bytes, long[] lastUpdates, long endTime) {
+    }
+
+    private final long maxBytes;
+    // access ordered, so iteration starts with the least recently used chart
+    private final Map<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long size = 0;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    public RRD4jChartCache() {
+        this(DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * @param maxBytes the maximum size of all cached images in bytes
+     */
+    public RRD4jChartCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Get a cached encoded chart.
+     *
+     * @param key the chart
+     * @param lastUpdates the time of the last row of each database shown, in the order of the item names
+     * @param endTime the end of the time axis in epoch seconds
+     * @return the encoded image or null if the chart has to be rendered
+     */
+    public byte @Nullable [] getEncoded(Key key, long[] lastUpdates, long endTime) {
+        return get(key, byte[].class, lastUpdates, endTime);
+    }
+
+    /**
+     * Get a cached uncompressed chart.
+     *
+     * @see #getEncoded(Key, long[], long)
+     * @return the image, which must not be modified, or null if the chart has to be rendered
+     */
+    public @Nullable BufferedImage getImage(Key key, long[] lastUpdates, long endTime) {
+        return get(key, BufferedImage.class, lastUpdates, endTime);
+    }
+
+    /**
+     * Add a rendered encoded chart. Charts which do not end after the last row of their databases show historic data
+     * and are not cached, neither are images larger than the byte budget.
+     *
+     * @param image the encoded image, which must not be modified afterwards
+     */
+    public void putEncoded(Key key, byte[] image, long[] lastUpdates, long endTime) {
+        put(key, image, image.length, lastUpdates, endTime);
+    }
+
+    /**
+     * Add a rendered uncompressed chart.
+     *
+     * @see #putEncoded(Key, byte[], long[], long)
+     * @param image the image, which must not be modified afterwards
+     */
+    public void putImage(Key key, BufferedImage image, long[] lastUpdates, long endTime) {
+        put(key, image, getPixelBytes(image), lastUpdates, endTime);
+    }
+
+    private synchronized <T> @Nullable T get(Key key, Class<T> type, long[] lastUpdates, long endTime) {
+        Entry entry = entries.get(key);
+        // the servlet and the chart provider may request the same chart, which is then cached in the form used last
+        if (entry != null && type.isInstance(entry.image()) && isValid(key, entry, lastUpdates, endTime)) {
+            hitCount.incrementAndGet();
+            return type.cast(entry.image());
+        }
+        missCount.incrementAndGet();
+        return null;
+    }
+
+    private synchronized void put(Key key, Object image, long bytes, long[] lastUpdates, long endTime) {
+        if (bytes > maxBytes || Arrays.stream(lastUpdates).anyMatch(lastUpdate -> lastUpdate > endTime)) {
+            return;
+        }
+        Entry previous = entries.put(key, new Entry(image, bytes, lastUpdates, endTime));
+        size += bytes - (previous != null ? previous.bytes() : 0);
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (size > maxBytes && iterator.hasNext()) {
+            size -= iterator.next().bytes();
+            iterator.remove();
+        }
+    }
+
+    private static long getPixelBytes(BufferedImage image) {
+        DataBuffer buffer = image.getRaster().getDataBuffer();
+        return (long) buffer.getSize() * buffer.getNumBanks() * DataBuffer.getDataTypeSize(buffer.getDataType()) / 8;
+    }
+
+    private boolean isValid(Key key, Entry entry, long[] lastUpdates, long endTime) {
+        if (!Arrays.equals(entry.lastUpdates(), lastUpdates)) {
+            // a new row has been added
+            return false;
+        }
+        long secondsPerPixel = Math.max(1, key.period() / Math.max(1, key.width()));
+        long age = endTime - entry.endTime();
+        return age >= 0 && age < secondsPerPixel;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        size = 0;
+    }
+
+    public synchronized int getSize() {
+        return entries.size();
+    }
+
+    /**
+     * Get the size of all cached images.
+     *
+     * @return the size in bytes
+     */
+    public synchronized long getBytes() {
+        return size;
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+}
@@ -17,11 +17,14 @@ import static java.util.Map.entry;
 import java.awt.Color;
 import java.awt.Font;
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.time.Duration;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Hashtable;
+import java.util.List;
 import java.util.Map;
 
 import javax.imageio.ImageIO;
@@ -60,8 +63,8 @@ import org.slf4j.LoggerFactory;
  * This servlet generates time-series charts for a given set of items.
  * It accepts the following HTTP parameters:
  * <ul>
- * <li>w: width in pixels of image to generate</li>
- * <li>h: height in pixels of image to generate</li>
+ * <li>w: width in pixels of image to generate, at most 4096</li>
+ * <li>h: height in pixels of image to generate, at most 2048</li>
  * <li>period: the time span for the x-axis. Value can be h,4h,8h,12h,D,3D,W,2W,M,2M,4M,Y</li>
  * <li>items: A comma separated list of item names to display
  * <li>groups: A comma separated list of group names, whose members should be displayed
@@ -80,6 +83,8 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
 
     private static final int DEFAULT_HEIGHT = 240;
     private static final int DEFAULT_WIDTH = 480;
+    private static final int MAX_HEIGHT = 2048;
+    private static final int MAX_WIDTH = 4096;
 
     /** the URI of this servlet */
     public static final String SERVLET_NAME = "/rrdchart.png";
@@ -106,6 +111,7 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
     private final HttpService httpService;
     private final ItemUIRegistry itemUIRegistry;
     private final TimeZoneProvider timeZoneProvider;
+    private final RRD4jChartCache chartCache = new RRD4jChartCache();
 
     @Activate
     public RRD4jChartServlet(final @Reference HttpService httpService, final @Reference ItemUIRegistry itemUIRegistry,
@@ -128,6 +134,11 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
     @Deactivate
     protected void deactivate() {
         httpService.unregister(SERVLET_NAME);
+        chartCache.clear();
+    }
+
+    public RRD4jChartCache getChartCache() {
+        return chartCache;
     }
 
     @Override
@@ -144,11 +155,18 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
         ZonedDateTime timeBegin = timeEnd.minus(period);
 
         try {
-            BufferedImage chart = createChart(null, null, timeBegin, timeEnd, height, width, req.getParameter("items"),
-                    req.getParameter("groups"), null, null);
+            List<Item> chartItems = getChartItems(req.getParameter("items"), req.getParameter("groups"));
+            RRD4jChartCache.Key cacheKey = createCacheKey(chartItems, null, timeBegin, timeEnd, height, width, null,
+                    null);
+            long[] lastUpdates = getLastUpdateTimes(chartItems);
+            byte[] chart = chartCache.getEncoded(cacheKey, lastUpdates, timeEnd.toEpochSecond());
+            if (chart == null) {
+                chart = encode(renderChart(chartItems, timeBegin, timeEnd, cacheKey.height(), cacheKey.width()));
+                chartCache.putEncoded(cacheKey, chart, lastUpdates, timeEnd.toEpochSecond());
+            }
             // Set the content type to that provided by the chart provider
             res.setContentType("image/" + getChartType());
-            ImageIO.write(chart, getChartType().toString(), res.getOutputStream());
+            res.getOutputStream().write(chart);
         } catch (ItemNotFoundException e) {
             logger.debug("Item not found error while generating chart", e);
             throw new ServletException("Item not found error while generating chart: " + e.getMessage());
@@ -212,6 +230,28 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
         }
     }
 
+    /**
+     * Get the time of the last row stored in the database of an item.
+     *
+     * @return the time in epoch seconds or -1 if the database can not be read
+     */
+    protected long getLastUpdateTime(Item item) {
+        try {
+            Builder builder = RrdDb.getBuilder();
+            builder.setPool(RRD4jPersistenceService.getDatabasePool());
+            builder.setPath(RRD4jPersistenceService.getDatabasePath(item.getName()).toString());
+
+            RrdDb db = builder.build();
+            try {
+                return db.getLastArchiveUpdateTime();
+            } finally {
+                db.close();
+            }
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
     @Override
     public void init(@Nullable ServletConfig config) throws ServletException {
     }
@@ -242,23 +282,32 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
     public BufferedImage createChart(@Nullable String service, @Nullable String theme, ZonedDateTime startTime,
             ZonedDateTime endTime, int height, int width, @Nullable String items, @Nullable String groups,
             @Nullable Integer dpi, @Nullable Boolean legend) throws ItemNotFoundException {
-        RrdGraphDef graphDef = new RrdGraphDef(startTime.toEpochSecond(), endTime.toEpochSecond());
-        graphDef.setWidth(width);
-        graphDef.setHeight(height);
-        graphDef.setAntiAliasing(true);
-        graphDef.setImageFormat("PNG");
-        graphDef.setTextAntiAliasing(true);
-        graphDef.setFont(FontTag.TITLE, new Font("SansSerif", Font.PLAIN, 15));
-        graphDef.setFont(FontTag.DEFAULT, new Font("SansSerif", Font.PLAIN, 11));
+        List<Item> chartItems = getChartItems(items, groups);
+
+        // serve the chart from the cache if none of the databases has been updated since it was rendered
+        RRD4jChartCache.Key cacheKey = createCacheKey(chartItems, theme, startTime, endTime, height, width, dpi,
+                legend);
+        long[] lastUpdates = getLastUpdateTimes(chartItems);
+        // the image is kept uncompressed, as the caller encodes it anyway
+        BufferedImage chart = chartCache.getImage(cacheKey, lastUpdates, endTime.toEpochSecond());
+        if (chart != null) {
+            logger.trace("Using cached chart for items {}", cacheKey.itemNames());
+            return chart;
+        }
 
-        int seriesCounter = 0;
+        chart = renderChart(chartItems, startTime, endTime, cacheKey.height(), cacheKey.width());
+        chartCache.putImage(cacheKey, chart, lastUpdates, endTime.toEpochSecond());
+        return chart;
+    }
+
+    private List<Item> getChartItems(@Nullable String items, @Nullable String groups) throws ItemNotFoundException {
+        List<Item> chartItems = new ArrayList<>();
 
         // Loop through all the items
         if (items != null) {
             String[] itemNames = items.split(",");
             for (String itemName : itemNames) {
-                Item item = itemUIRegistry.getItem(itemName);
-                addLine(graphDef, item, seriesCounter++);
+                chartItems.add(itemUIRegistry.getItem(itemName));
             }
         }
 
@@ -268,15 +317,57 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
             for (String groupName : groupNames) {
                 Item item = itemUIRegistry.getItem(groupName);
                 if (item instanceof GroupItem groupItem) {
-                    for (Item member : groupItem.getMembers()) {
-                        addLine(graphDef, member, seriesCounter++);
-                    }
+                    chartItems.addAll(groupItem.getMembers());
                 } else {
                     throw new ItemNotFoundException("Item '" + item.getName() + "' defined in groups is not a group.");
                 }
             }
         }
 
+        return chartItems;
+    }
+
+    /**
+     * Create the cache key of a chart. Width and height are limited, so that requests can not make the servlet render
+     * arbitrarily large images.
+     */
+    private RRD4jChartCache.Key createCacheKey(List<Item> chartItems, @Nullable String theme, ZonedDateTime startTime,
+            ZonedDateTime endTime, int height, int width, @Nullable Integer dpi, @Nullable Boolean legend) {
+        return new RRD4jChartCache.Key(chartItems.stream().map(Item::getName).toList(),
+                endTime.toEpochSecond() - startTime.toEpochSecond(), Math.max(1, Math.min(width, MAX_WIDTH)),
+                Math.max(1, Math.min(height, MAX_HEIGHT)), theme, dpi, legend);
+    }
+
+    private long[] getLastUpdateTimes(List<Item> chartItems) {
+        return chartItems.stream().mapToLong(this::getLastUpdateTime).toArray();
+    }
+
+    private byte[] encode(BufferedImage chart) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            ImageIO.write(chart, getChartType().toString(), out);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error encoding chart", e);
+        }
+        return out.toByteArray();
+    }
+
+    private BufferedImage renderChart(List<Item> chartItems, ZonedDateTime startTime, ZonedDateTime endTime,
+            int height, int width) {
+        RrdGraphDef graphDef = new RrdGraphDef(startTime.toEpochSecond(), endTime.toEpochSecond());
+        graphDef.setWidth(width);
+        graphDef.setHeight(height);
+        graphDef.setAntiAliasing(true);
+        graphDef.setImageFormat("PNG");
+        graphDef.setTextAntiAliasing(true);
+        graphDef.setFont(FontTag.TITLE, new Font("SansSerif", Font.PLAIN, 15));
+        graphDef.setFont(FontTag.DEFAULT, new Font("SansSerif", Font.PLAIN, 11));
+
+        int seriesCounter = 0;
+        for (Item item : chartItems) {
+            addLine(graphDef, item, seriesCounter++);
+        }
+
         // Write the chart as a PNG image
         try {
             RrdGraph graph = new RrdGraph(graphDef);
@@ -30,10 +30,15 @@ import org.openhab.core.items.ItemNotFoundException;
 import org.openhab.core.items.ItemRegistry;
 import org.openhab.core.persistence.PersistenceService;
 import org.openhab.core.persistence.PersistenceServiceRegistry;
+import org.openhab.core.ui.chart.ChartProvider;
 import org.openhab.persistence.rrd4j.internal.RRD4jPersistenceService;
+import org.openhab.persistence.rrd4j.internal.charts.RRD4jChartCache;
+import org.openhab.persistence.rrd4j.internal.charts.RRD4jChartServlet;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicy;
 
 /**
  * The {@link RRD4jCommandExtension} is responsible for handling console commands
@@ -47,11 +52,13 @@ public class RRD4jCommandExtension extends AbstractConsoleCommandExtension imple
     private static final String CMD_LIST = "list";
     private static final String CMD_CHECK = "check";
     private static final String CMD_CLEAN = "clean";
-    private static final StringsCompleter CMD_COMPLETER = new StringsCompleter(List.of(CMD_LIST, CMD_CHECK, CMD_CLEAN),
-            false);
+    private static final String CMD_CHARTS = "charts";
+    private static final StringsCompleter CMD_COMPLETER = new StringsCompleter(
+            List.of(CMD_LIST, CMD_CHECK, CMD_CLEAN, CMD_CHARTS), false);
 
     private final PersistenceServiceRegistry persistenceServiceRegistry;
     private final ItemRegistry itemRegistry;
+    private volatile @Nullable RRD4jChartServlet chartServlet;
 
     @Activate
     public RRD4jCommandExtension(final @Reference PersistenceServiceRegistry persistenceServiceRegistry,
@@ -61,6 +68,19 @@ public class RRD4jCommandExtension extends AbstractConsoleCommandExtension imple
         this.itemRegistry = itemRegistry;
     }
 
+    @Reference(cardinality = ReferenceCardinality.MULTIPLE, policy = ReferencePolicy.DYNAMIC)
+    protected void addChartProvider(ChartProvider chartProvider) {
+        if (chartProvider instanceof RRD4jChartServlet servlet) {
+            chartServlet = servlet;
+        }
+    }
+
+    protected void removeChartProvider(ChartProvider chartProvider) {
+        if (chartProvider == chartServlet) {
+            chartServlet = null;
+        }
+    }
+
     @Override
     public void execute(String[] args, Console console) {
         RRD4jPersistenceService persistenceService = getPersistenceService();
@@ -81,6 +101,9 @@ public class RRD4jCommandExtension extends AbstractConsoleCommandExtension imple
         } else if (args.length >= 1 && args.length <= 2 && CMD_CLEAN.equalsIgnoreCase(args[0])) {
             checkAndClean(persistenceService, console, args.length == 2 ? args[1] : null, false);
             return;
+        } else if (args.length == 1 && CMD_CHARTS.equalsIgnoreCase(args[0])) {
+            printChartCache(console);
+            return;
         }
         printUsage(console);
     }
@@ -136,11 +159,26 @@ public class RRD4jCommandExtension extends AbstractConsoleCommandExtension imple
         console.println(nb + " files " + (checkOnly ? "to delete." : "deleted."));
     }
 
+    private void printChartCache(Console console) {
+        RRD4jChartServlet chartServlet = this.chartServlet;
+        if (chartServlet == null) {
+            console.println("No RRD4j chart servlet running.");
+            return;
+        }
+        RRD4jChartCache chartCache = chartServlet.getChartCache();
+        long hits = chartCache.getHitCount();
+        long requests = hits + chartCache.getMissCount();
+        console.println("Cached charts: " + chartCache.getSize() + " (" + chartCache.getBytes() / 1024 + " kB)");
+        console.println("Cache hits:    " + hits + " of " + requests + " requests"
+                + (requests > 0 ? " (" + (hits * 100 / requests) + "%)" : ""));
+    }
+
     @Override
     public List<String> getUsages() {
         return List.of(buildCommandUsage(CMD_LIST, "list Round Robin Database files"),
                 buildCommandUsage(CMD_CHECK, "check for RRD files without existing item"),
-                buildCommandUsage(CMD_CLEAN + " [<itemName>]", "delete RRD files without existing item"));
+                buildCommandUsage(CMD_CLEAN + " [<itemName>]", "delete RRD files without existing item"),
+                buildCommandUsage(CMD_CHARTS, "show statistics of the chart cache"));
     }
 
     @Override
@@ -0,0 +1,129 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.rrd4j.internal.charts;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.awt.image.BufferedImage;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link RRD4jChartCache}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class RRD4jChartCacheTest {
+
+    // one pixel covers 10 seconds
+    private static final RRD4jChartCache.Key KEY = key(480);
+    private static final long[] LAST_UPDATES = { 1000, 2000 };
+    private static final long END_TIME = 3000;
+
+    private static RRD4jChartCache.Key key(int width) {
+        return new RRD4jChartCache.Key(List.of("Item1", "Item2"), 4800, width, 240, null, null, null);
+    }
+
+    @Test
+    void chartIsServedWithinOnePixel() {
+        RRD4jChartCache cache = new RRD4jChartCache();
+        byte[] image = new byte[10];
+        cache.putEncoded(KEY, image, LAST_UPDATES, END_TIME);
+
+        assertThat(cache.getEncoded(KEY, LAST_UPDATES, END_TIME), is(sameInstance(image)));
+        assertThat(cache.getEncoded(KEY, LAST_UPDATES, END_TIME + 9), is(sameInstance(image)));
+        assertThat(cache.getEncoded(KEY, LAST_UPDATES, END_TIME + 10), is(nullValue()));
+        assertThat(cache.getEncoded(KEY, LAST_UPDATES, END_TIME - 1), is(nullValue()));
+        assertThat(cache.getHitCount(), is(2L));
+        assertThat(cache.getMissCount(), is(2L));
+    }
+
+    @Test
+    void chartIsInvalidatedByNewRow() {
+        RRD4jChartCache cache = new RRD4jChartCache();
+        cache.putEncoded(KEY, new byte[10], LAST_UPDATES, END_TIME);
+
+        assertThat(cache.getEncoded(KEY, new long[] { 1000, 2001 }, END_TIME), is(nullValue()));
+    }
+
+    @Test
+    void chartsAreDistinguishedByKey() {
+        RRD4jChartCache cache = new RRD4jChartCache();
+        byte[] image = new byte[10];
+        cache.putEncoded(KEY, image, LAST_UPDATES, END_TIME);
+
+        assertThat(cache.getEncoded(key(480), LAST_UPDATES, END_TIME), is(sameInstance(image)));
+        assertThat(cache.getEncoded(key(481), LAST_UPDATES, END_TIME), is(nullValue()));
+        assertThat(cache.getEncoded(new RRD4jChartCache.Key(List.of("Item2", "Item1"), 4800, 480, 240, null, null, null),
+                LAST_UPDATES, END_TIME), is(nullValue()));
+    }
+
+    @Test
+    void imageIsCachedWithSizeOfPixels() {
+        RRD4jChartCache cache = new RRD4jChartCache(20000);
+        BufferedImage image = new BufferedImage(40, 30, BufferedImage.TYPE_INT_RGB);
+        cache.putImage(KEY, image, LAST_UPDATES, END_TIME);
+
+        assertThat(cache.getBytes(), is(40L * 30 * 4));
+        assertThat(cache.getImage(KEY, LAST_UPDATES, END_TIME), is(sameInstance(image)));
+        // the same chart cached in the other form is a miss
+        assertThat(cache.getEncoded(KEY, LAST_UPDATES, END_TIME), is(nullValue()));
+
+        // the encoded image replaces the uncompressed one
+        cache.putEncoded(KEY, new byte[10], LAST_UPDATES, END_TIME);
+        assertThat(cache.getBytes(), is(10L));
+        assertThat(cache.getImage(KEY, LAST_UPDATES, END_TIME), is(nullValue()));
+
+        // images larger than the budget are not cached at all
+        cache.putImage(key(1), new BufferedImage(100, 100, BufferedImage.TYPE_INT_RGB), LAST_UPDATES, END_TIME);
+        assertThat(cache.getSize(), is(1));
+    }
+
+    @Test
+    void historicChartIsNotCached() {
+        RRD4jChartCache cache = new RRD4jChartCache();
+        cache.putEncoded(KEY, new byte[10], new long[] { 1000, END_TIME + 1 }, END_TIME);
+
+        assertThat(cache.getSize(), is(0));
+    }
+
+    @Test
+    void leastRecentlyUsedChartsAreRemovedWhenExceedingBudget() {
+        RRD4jChartCache cache = new RRD4jChartCache(25);
+        cache.putEncoded(key(1), new byte[10], LAST_UPDATES, END_TIME);
+        cache.putEncoded(key(2), new byte[10], LAST_UPDATES, END_TIME);
+        cache.getEncoded(key(1), LAST_UPDATES, END_TIME);
+        cache.putEncoded(key(3), new byte[10], LAST_UPDATES, END_TIME);
+
+        assertThat(cache.getSize(), is(2));
+        assertThat(cache.getBytes(), is(20L));
+        assertThat(cache.getEncoded(key(1), LAST_UPDATES, END_TIME), is(notNullValue()));
+        assertThat(cache.getEncoded(key(2), LAST_UPDATES, END_TIME), is(nullValue()));
+
+        // replacing a chart only counts its new size
+        cache.putEncoded(key(3), new byte[5], LAST_UPDATES, END_TIME);
+        assertThat(cache.getBytes(), is(15L));
+
+        // images larger than the budget are not cached at all
+        cache.putEncoded(key(4), new byte[26], LAST_UPDATES, END_TIME);
+        assertThat(cache.getSize(), is(2));
+
+        cache.clear();
+        assertThat(cache.getSize(), is(0));
+        assertThat(cache.getBytes(), is(0L));
+    }
+}
@@ -0,0 +1,95 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.bin2json.internal;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the converters of the most recently used rules, as preparing the parser of a rule takes much longer than
+ * parsing the data. Prepared parsers can be used by several threads at once.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class Bin2JsonCache {
+
+    static final int MAX_ENTRIES = 64;
+    private static final int STATISTICS_INTERVAL = 1000;
+
+    private final Logger logger = LoggerFactory.getLogger(Bin2JsonCache.class);
+
+    private final Map<String, Bin2Json> converters = new LinkedHashMap<>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Bin2Json> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+    private long hitCount;
+    private long missCount;
+
+    /**
+     * @throws ConversionException if the rule is invalid, invalid rules are not cached
+     */
+    Bin2Json get(String rule) throws ConversionException {
+        synchronized (this) {
+            Bin2Json converter = converters.get(rule);
+            if (converter != null) {
+                hitCount++;
+                logStatistics();
+                return converter;
+            }
+            missCount++;
+            logStatistics();
+        }
+        // prepare outside the lock, so that different rules can be prepared concurrently
+        Bin2Json converter = new Bin2Json(rule);
+        synchronized (this) {
+            converters.put(rule, converter);
+        }
+        return converter;
+    }
+
+    private void logStatistics() {
+        if ((hitCount + missCount) % STATISTICS_INTERVAL == 0) {
+            logger.debug("Bin2Json cache: {} entries, {} hits, {} misses, {}% hit rate", converters.size(), hitCount,
+                    missCount, getHitRate());
+        }
+    }
+
+    synchronized int getSize() {
+        return converters.size();
+    }
+
+    synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @return the percentage of lookups served from the cache
+     */
+    synchronized int getHitRate() {
+        long lookups = hitCount + missCount;
+        return lookups > 0 ? (int) (hitCount * 100 / lookups) : 0;
+    }
+}
@@ -32,6 +32,8 @@ public class Bin2JsonTransformationService implements TransformationService {
 
     private Logger logger = LoggerFactory.getLogger(Bin2JsonTransformationService.class);
 
+    private final Bin2JsonCache cache = new Bin2JsonCache();
+
     /**
      * Transforms the input <code>source</code> by Java Binary Block Parser syntax.
      *
@@ -46,7 +48,7 @@ public class Bin2JsonTransformationService implements TransformationService {
         String result = "";
 
         try {
-            result = String.valueOf(new Bin2Json(syntax).convert(source));
+            result = String.valueOf(cache.get(syntax).convert(source));
             logger.debug("transformation resulted '{}'", result);
             return result;
         } catch (ConversionException e) {
@@ -56,4 +58,8 @@ public class Bin2JsonTransformationService implements TransformationService {
                     result);
         }
     }
+
+    Bin2JsonCache getCache() {
+        return cache;
+    }
 }
@@ -0,0 +1,73 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.bin2json.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.transform.TransformationException;
+
+/**
+ * Tests the caching of prepared parsers by the {@link Bin2JsonTransformationService}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class Bin2JsonTransformationServiceTest {
+
+    private static final String RULE = "byte a; ubyte b;";
+
+    private final Bin2JsonTransformationService processor = new Bin2JsonTransformationService();
+
+    @Test
+    public void testParserIsPreparedOnceAndReused() throws TransformationException, ConversionException {
+        assertEquals("{\"a\":1,\"b\":255}", processor.transform(RULE, "01FF"));
+        assertEquals("{\"a\":-1,\"b\":2}", processor.transform(RULE, "FF02"));
+
+        Bin2JsonCache cache = processor.getCache();
+        assertEquals(1, cache.getSize());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(50, cache.getHitRate());
+        assertSame(cache.get(RULE), cache.get(RULE));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedParserIsEvicted() throws ConversionException {
+        Bin2JsonCache cache = new Bin2JsonCache();
+        for (int i = 0; i <= Bin2JsonCache.MAX_ENTRIES; i++) {
+            cache.get("byte a" + i + ";");
+            // keep the first rule in use
+            cache.get("byte a0;");
+        }
+
+        assertEquals(Bin2JsonCache.MAX_ENTRIES, cache.getSize());
+        cache.get("byte a0;");
+        assertEquals(Bin2JsonCache.MAX_ENTRIES + 1, cache.getMissCount());
+        // the rule used least recently has been evicted
+        cache.get("byte a1;");
+        assertEquals(Bin2JsonCache.MAX_ENTRIES + 2, cache.getMissCount());
+    }
+
+    @Test
+    public void testInvalidRuleIsNotCached() {
+        assertThrows(TransformationException.class, () -> processor.transform("unknown a;", "01"));
+        assertThrows(TransformationException.class, () -> processor.transform("unknown a;", "01"));
+
+        Bin2JsonCache cache = processor.getCache();
+        assertEquals(0, cache.getSize());
+        assertEquals(0, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+    }
+}
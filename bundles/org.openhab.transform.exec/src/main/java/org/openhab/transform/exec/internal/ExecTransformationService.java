@@ -13,14 +13,19 @@
 package org.openhab.transform.exec.internal;
 
 import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.config.core.ConfigParser;
 import org.openhab.core.io.net.exec.ExecUtil;
 import org.openhab.core.transform.TransformationException;
 import org.openhab.core.transform.TransformationService;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Modified;
 import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,15 +38,47 @@ import org.slf4j.LoggerFactory;
  * @author Jan N. Klug - added command whitelist service
  */
 @NonNullByDefault
-@Component(property = { "openhab.transform=EXEC" })
+@Component(configurationPid = "org.openhab.transform.exec", property = { "openhab.transform=EXEC" })
 public class ExecTransformationService implements TransformationService {
+    /** Prefix of commands which are run as long-lived worker processes */
+    public static final String WORKER_PREFIX = "worker:";
+
+    private static final int DEFAULT_WORKER_POOL_SIZE = 1;
+    private static final long DEFAULT_WORKER_TIMEOUT = 5000;
+
     private final Logger logger = LoggerFactory.getLogger(ExecTransformationService.class);
     private final ExecTransformationWhitelistWatchService execTransformationWhitelistWatchService;
 
+    private final Map<String, ExecWorkerPool> workerPools = new ConcurrentHashMap<>();
+    private int workerPoolSize = DEFAULT_WORKER_POOL_SIZE;
+    private Duration workerTimeout = Duration.ofMillis(DEFAULT_WORKER_TIMEOUT);
+
     @Activate
     public ExecTransformationService(
-            @Reference ExecTransformationWhitelistWatchService execTransformationWhitelistWatchService) {
+            @Reference ExecTransformationWhitelistWatchService execTransformationWhitelistWatchService,
+            Map<String, Object> config) {
         this.execTransformationWhitelistWatchService = execTransformationWhitelistWatchService;
+        modified(config);
+    }
+
+    @Modified
+    public void modified(Map<String, Object> config) {
+        workerPoolSize = Math.max(1, ConfigParser.valueAsOrElse(config.get("workerPoolSize"), Integer.class,
+                DEFAULT_WORKER_POOL_SIZE));
+        workerTimeout = Duration.ofMillis(Math.max(1,
+                ConfigParser.valueAsOrElse(config.get("workerTimeout"), Long.class, DEFAULT_WORKER_TIMEOUT)));
+        // restart the workers with the new configuration when they are used next
+        closeWorkerPools();
+    }
+
+    @Deactivate
+    public void deactivate() {
+        closeWorkerPools();
+    }
+
+    private void closeWorkerPools() {
+        workerPools.values().forEach(ExecWorkerPool::close);
+        workerPools.clear();
     }
 
     /**
@@ -57,6 +94,10 @@ public class ExecTransformationService implements TransformationService {
             throw new TransformationException("the given parameters 'commandLine' and 'source' must not be null");
         }
 
+        if (commandLine.startsWith(WORKER_PREFIX)) {
+            return transformByWorker(commandLine.substring(WORKER_PREFIX.length()).trim(), source);
+        }
+
         if (!execTransformationWhitelistWatchService.isWhitelisted(commandLine)) {
             logger.warn("Tried to execute '{}', but it is not contained in whitelist.", commandLine);
             return null;
@@ -72,4 +113,32 @@ public class ExecTransformationService implements TransformationService {
 
         return result;
     }
+
+    /**
+     * Transforms the input <code>source</code> by a long-lived worker process, which is started once and then reads
+     * one value per line from its standard input and answers with one line on its standard output.
+     *
+     * @param command the command to execute
+     * @param source the input to transform
+     */
+    private @Nullable String transformByWorker(String command, String source) throws TransformationException {
+        if (!execTransformationWhitelistWatchService.isWhitelisted(command)) {
+            logger.warn("Tried to execute '{}', but it is not contained in whitelist.", command);
+            return null;
+        }
+        if (source.indexOf('\n') >= 0 || source.indexOf('\r') >= 0) {
+            throw new TransformationException("Values passed to a worker process must not contain line breaks");
+        }
+        logger.debug("about to transform '{}' by the worker '{}'", source, command);
+
+        return workerPools.computeIfAbsent(command, c -> new ExecWorkerPool(c, workerPoolSize, workerTimeout))
+                .transform(source);
+    }
+
+    /**
+     * @return the pools of the worker processes started so far, by command
+     */
+    public Map<String, ExecWorkerPool> getWorkerPools() {
+        return Map.copyOf(workerPools);
+    }
 }
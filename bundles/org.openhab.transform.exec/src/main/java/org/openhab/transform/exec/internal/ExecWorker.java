@@ -0,0 +1,145 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.exec.internal;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A long-lived process transforming values: each value is written as one line to the standard input of the process,
+ * which has to answer with one line on its standard output.
+ *
+ * The output is read by a separate thread, so that waiting for an answer can time out. A worker which timed out or
+ * failed must be stopped, as its next answer could belong to the previous value. Lines written to the error output are
+ * logged at debug level.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ExecWorker {
+    private final Logger logger = LoggerFactory.getLogger(ExecWorker.class);
+
+    private final Process process;
+    private final BufferedWriter input;
+    // an empty optional marks the end of the output
+    private final BlockingQueue<Optional<String>> output = new LinkedBlockingQueue<>();
+
+    /**
+     * Start a worker process.
+     *
+     * @param commandLine the command and its arguments
+     * @throws IOException if the process can not be started
+     */
+    public ExecWorker(String[] commandLine) throws IOException {
+        process = new ProcessBuilder(commandLine).start();
+        input = new BufferedWriter(new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+
+        startReader(this::readOutput, "OH-transform-exec-worker-" + process.pid());
+        // the error output has to be read as well, otherwise the process blocks once its pipe buffer is full
+        startReader(this::readErrorOutput, "OH-transform-exec-worker-" + process.pid() + "-error");
+    }
+
+    private void startReader(Runnable task, String name) {
+        Thread reader = new Thread(task, name);
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    private void readOutput() {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                output.add(Optional.of(line));
+            }
+        } catch (IOException e) {
+            logger.debug("Reading the output of worker process {} failed: {}", process.pid(), e.getMessage());
+        }
+        output.add(Optional.empty());
+    }
+
+    private void readErrorOutput() {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getErrorStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                logger.debug("Worker process {}: {}", process.pid(), line);
+            }
+        } catch (IOException e) {
+            logger.debug("Reading the error output of worker process {} failed: {}", process.pid(), e.getMessage());
+        }
+    }
+
+    /**
+     * Transform a value.
+     *
+     * @param value the value, which must not contain line breaks
+     * @param timeout the maximum time to wait for the answer
+     * @return the answer of the process
+     * @throws IOException if the process terminated or can not be written to
+     * @throws TimeoutException if the process did not answer in time
+     * @throws InterruptedException if interrupted while waiting for the answer
+     */
+    public String transform(String value, Duration timeout)
+            throws IOException, TimeoutException, InterruptedException {
+        input.write(value);
+        input.newLine();
+        input.flush();
+
+        Optional<String> answer = output.poll(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        if (answer == null) {
+            throw new TimeoutException("worker process did not answer within " + timeout.toMillis() + " ms");
+        }
+        return answer.orElseThrow(() -> new IOException("worker process terminated"));
+    }
+
+    public boolean isAlive() {
+        return process.isAlive();
+    }
+
+    public long getPid() {
+        return process.pid();
+    }
+
+    /**
+     * Stop the process. Closing its input allows it to terminate cleanly before it is killed.
+     */
+    public void stop() {
+        try {
+            input.close();
+        } catch (IOException ignored) {
+        }
+        try {
+            if (!process.waitFor(100, TimeUnit.MILLISECONDS)) {
+                process.destroyForcibly();
+            }
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,194 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.exec.internal;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.transform.TransformationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link ExecWorkerPool} keeps up to a given number of {@link ExecWorker}s running one command.
+ *
+ * Workers are started when needed and are reused for following values. A worker which terminated, failed or timed out
+ * is stopped and replaced by a new one on the next value.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ExecWorkerPool {
+    private final Logger logger = LoggerFactory.getLogger(ExecWorkerPool.class);
+
+    private final String command;
+    private final Duration timeout;
+    private final Semaphore permits;
+    // idle workers, the most recently used first
+    private final Deque<ExecWorker> idleWorkers = new ConcurrentLinkedDeque<>();
+    private volatile boolean closed;
+
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong failureCount = new AtomicLong();
+    private final AtomicLong startCount = new AtomicLong();
+    private final AtomicLong totalLatency = new AtomicLong();
+    private final AtomicLong maxLatency = new AtomicLong();
+
+    /**
+     * @param command the command line, arguments separated by spaces
+     * @param size the maximum number of worker processes
+     * @param timeout the maximum time to transform a value, including the time waiting for a worker
+     */
+    public ExecWorkerPool(String command, int size, Duration timeout) {
+        this.command = command;
+        this.timeout = timeout;
+        this.permits = new Semaphore(size, true);
+    }
+
+    /**
+     * Transform a value by one of the workers.
+     *
+     * @param value the value, which must not contain line breaks
+     * @return the answer of the worker
+     * @throws TransformationException if no worker is available or it did not answer
+     */
+    public String transform(String value) throws TransformationException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        try {
+            if (!permits.tryAcquire(timeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                failureCount.incrementAndGet();
+                throw new TransformationException("All workers of '" + command + "' are busy");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TransformationException("Interrupted while waiting for a worker of '" + command + "'");
+        }
+
+        @Nullable
+        ExecWorker worker = null;
+        try {
+            worker = getWorker();
+            long startTime = System.nanoTime();
+            // the time spent waiting for a worker counts towards the timeout
+            String result = worker.transform(value, Duration.ofNanos(Math.max(0, deadline - startTime)));
+            long latency = System.nanoTime() - startTime;
+            requestCount.incrementAndGet();
+            totalLatency.addAndGet(latency);
+            maxLatency.accumulateAndGet(latency, Math::max);
+            logger.trace("worker {} of '{}' answered in {} us", worker.getPid(), command, latency / 1000);
+
+            idleWorkers.addFirst(worker);
+            worker = null;
+            if (closed) {
+                // the pool was closed while the worker was in use
+                close();
+            }
+            return result;
+        } catch (IOException | TimeoutException e) {
+            failureCount.incrementAndGet();
+            throw new TransformationException("Worker of '" + command + "' failed: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TransformationException("Interrupted while waiting for a worker of '" + command + "'");
+        } finally {
+            if (worker != null) {
+                worker.stop();
+            }
+            permits.release();
+        }
+    }
+
+    private ExecWorker getWorker() throws IOException {
+        ExecWorker worker;
+        while ((worker = idleWorkers.pollFirst()) != null) {
+            if (worker.isAlive()) {
+                return worker;
+            }
+            logger.debug("Worker {} of '{}' terminated, restarting it", worker.getPid(), command);
+            worker.stop();
+        }
+        if (closed) {
+            throw new IOException("worker pool is closed");
+        }
+        worker = new ExecWorker(command.split(" "));
+        startCount.incrementAndGet();
+        logger.debug("Started worker {} of '{}'", worker.getPid(), command);
+        return worker;
+    }
+
+    /**
+     * Stop all workers. Workers currently transforming a value are stopped when they are done.
+     */
+    public void close() {
+        if (!closed) {
+            closed = true;
+            logger.debug("Closing worker pool: {}", this);
+        }
+        ExecWorker worker;
+        while ((worker = idleWorkers.pollFirst()) != null) {
+            worker.stop();
+        }
+    }
+
+    /**
+     * @return number of values transformed successfully
+     */
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    /**
+     * @return number of values not transformed because no worker was available or the worker failed
+     */
+    public long getFailureCount() {
+        return failureCount.get();
+    }
+
+    /**
+     * @return number of worker processes started, including restarts
+     */
+    public long getStartCount() {
+        return startCount.get();
+    }
+
+    /**
+     * @return average time between writing a value and receiving the answer
+     */
+    public Duration getAverageLatency() {
+        long requests = requestCount.get();
+        return Duration.ofNanos(requests == 0 ? 0 : totalLatency.get() / requests);
+    }
+
+    /**
+     * @return maximum time between writing a value and receiving the answer
+     */
+    public Duration getMaxLatency() {
+        return Duration.ofNanos(maxLatency.get());
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "ExecWorkerPool(command=%s, requests=%d, failures=%d, starts=%d, averageLatency=%d us, maxLatency=%d us)",
+                command, getRequestCount(), getFailureCount(), getStartCount(), getAverageLatency().toNanos() / 1000,
+                getMaxLatency().toNanos() / 1000);
+    }
+}
@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.exec.internal.console;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.io.console.Console;
+import org.openhab.core.io.console.ConsoleCommandCompleter;
+import org.openhab.core.io.console.StringsCompleter;
+import org.openhab.core.io.console.extensions.AbstractConsoleCommandExtension;
+import org.openhab.core.io.console.extensions.ConsoleCommandExtension;
+import org.openhab.core.transform.TransformationService;
+import org.openhab.transform.exec.internal.ExecTransformationService;
+import org.openhab.transform.exec.internal.ExecWorkerPool;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicy;
+
+/**
+ * The {@link ExecCommandExtension} is responsible for handling console commands
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+@Component(service = ConsoleCommandExtension.class)
+public class ExecCommandExtension extends AbstractConsoleCommandExtension implements ConsoleCommandCompleter {
+
+    private static final String CMD_WORKERS = "workers";
+    private static final StringsCompleter CMD_COMPLETER = new StringsCompleter(List.of(CMD_WORKERS), false);
+
+    private volatile @Nullable ExecTransformationService transformationService;
+
+    public ExecCommandExtension() {
+        super("exec", "Interact with the Exec transformation service.");
+    }
+
+    @Reference(cardinality = ReferenceCardinality.MULTIPLE, policy = ReferencePolicy.DYNAMIC)
+    protected void addTransformationService(TransformationService service) {
+        if (service instanceof ExecTransformationService execService) {
+            transformationService = execService;
+        }
+    }
+
+    protected void removeTransformationService(TransformationService service) {
+        if (service == transformationService) {
+            transformationService = null;
+        }
+    }
+
+    @Override
+    public void execute(String[] args, Console console) {
+        if (args.length == 1 && CMD_WORKERS.equalsIgnoreCase(args[0])) {
+            printWorkerPools(console);
+            return;
+        }
+        printUsage(console);
+    }
+
+    private void printWorkerPools(Console console) {
+        ExecTransformationService transformationService = this.transformationService;
+        if (transformationService == null) {
+            console.println("No Exec transformation service running.");
+            return;
+        }
+        Map<String, ExecWorkerPool> workerPools = new TreeMap<>(transformationService.getWorkerPools());
+        workerPools.forEach((command, pool) -> {
+            console.println(command);
+            console.println("  - requests: " + pool.getRequestCount() + ", failures: " + pool.getFailureCount()
+                    + ", worker starts: " + pool.getStartCount());
+            console.println("  - latency: " + pool.getAverageLatency().toNanos() / 1000 + " us average, "
+                    + pool.getMaxLatency().toNanos() / 1000 + " us maximum");
+        });
+        console.println(workerPools.size() + " worker pools found.");
+    }
+
+    @Override
+    public List<String> getUsages() {
+        return List.of(buildCommandUsage(CMD_WORKERS, "show statistics of the worker processes"));
+    }
+
+    @Override
+    public @Nullable ConsoleCommandCompleter getCompleter() {
+        return this;
+    }
+
+    @Override
+    public boolean complete(String[] args, int cursorArgumentIndex, int cursorPosition, List<String> candidates) {
+        if (cursorArgumentIndex <= 0) {
+            return CMD_COMPLETER.complete(args, cursorArgumentIndex, cursorPosition, candidates);
+        }
+        return false;
+    }
+}
@@ -0,0 +1,155 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.exec.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+import org.openhab.core.transform.TransformationException;
+
+/**
+ * Tests the {@link ExecWorkerPool} and {@link ExecWorker} with a shell script as worker.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+@DisabledOnOs(OS.WINDOWS)
+public class ExecWorkerPoolTest {
+
+    // echoes each line, except for the commands to hang, to terminate, to answer slowly and to log more than a pipe
+    // buffer holds to the error output
+    private static final String WORKER_SCRIPT = """
+            #!/bin/sh
+            while read -r line; do
+              case "$line" in
+                hang) sleep 5 ;;
+                exit) exit 1 ;;
+                slow) sleep 0.5; echo "$line" ;;
+                noisy) seq 100000 >&2; echo "$line" ;;
+                *) echo "$line" ;;
+              esac
+            done
+            """;
+    private static final Duration TIMEOUT = Duration.ofMillis(1000);
+
+    private @TempDir @NonNullByDefault({}) Path tempDir;
+    private @NonNullByDefault({}) ExecWorkerPool pool;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        Path script = tempDir.resolve("worker.sh");
+        Files.writeString(script, WORKER_SCRIPT);
+        assertTrue(script.toFile().setExecutable(true));
+        pool = new ExecWorkerPool(script.toString(), 1, TIMEOUT);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        pool.close();
+    }
+
+    private void awaitBusyWorker() throws InterruptedException {
+        // a worker is started after the caller got its permit
+        while (pool.getStartCount() == 0) {
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    public void workerAnswersAndIsReused() throws TransformationException {
+        assertEquals("a", pool.transform("a"));
+        assertEquals("b", pool.transform("b"));
+
+        assertEquals(2, pool.getRequestCount());
+        assertEquals(0, pool.getFailureCount());
+        assertEquals(1, pool.getStartCount());
+    }
+
+    @Test
+    public void errorOutputDoesNotBlockWorker() throws TransformationException {
+        assertEquals("noisy", pool.transform("noisy"));
+        assertEquals("a", pool.transform("a"));
+
+        assertEquals(0, pool.getFailureCount());
+        assertEquals(1, pool.getStartCount());
+    }
+
+    @Test
+    public void workerIsRestartedAfterTimeout() throws TransformationException {
+        long startTime = System.nanoTime();
+        assertThrows(TransformationException.class, () -> pool.transform("hang"));
+        assertTrue(Duration.ofNanos(System.nanoTime() - startTime).compareTo(TIMEOUT.multipliedBy(2)) < 0);
+
+        // the answer of the stopped worker does not reach the next value
+        assertEquals("a", pool.transform("a"));
+        assertEquals(1, pool.getFailureCount());
+        assertEquals(2, pool.getStartCount());
+    }
+
+    @Test
+    public void workerIsRestartedAfterCrash() throws TransformationException {
+        assertThrows(TransformationException.class, () -> pool.transform("exit"));
+
+        assertEquals("a", pool.transform("a"));
+        assertEquals(1, pool.getFailureCount());
+        assertEquals(2, pool.getStartCount());
+    }
+
+    @Test
+    public void valueFailsIfAllWorkersAreBusy() throws Exception {
+        CompletableFuture<String> busy = CompletableFuture.supplyAsync(() -> {
+            try {
+                return pool.transform("hang");
+            } catch (TransformationException e) {
+                return "failed";
+            }
+        });
+        awaitBusyWorker();
+
+        TransformationException e = assertThrows(TransformationException.class, () -> pool.transform("a"));
+        assertTrue(e.getMessage().contains("busy"));
+        assertEquals("failed", busy.get());
+        assertEquals(2, pool.getFailureCount());
+        assertEquals(1, pool.getStartCount());
+    }
+
+    @Test
+    public void busyWorkerIsStoppedAfterCloseWhenDone() throws Exception {
+        CompletableFuture<String> busy = CompletableFuture.supplyAsync(() -> {
+            try {
+                return pool.transform("slow");
+            } catch (TransformationException e) {
+                return "failed";
+            }
+        });
+        awaitBusyWorker();
+        pool.close();
+
+        // the value in progress is still answered, but the worker is not reused
+        assertEquals("slow", busy.get());
+        assertThrows(TransformationException.class, () -> pool.transform("a"));
+        assertEquals(1, pool.getStartCount());
+    }
+}
@@ -0,0 +1,177 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.jinja.internal;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Keeps the <code>value_json</code> objects of recently transformed values for a short time, so that a payload
+ * rendered by several templates is parsed once. The objects are unmodifiable, as they are shared by all templates.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class JinjaJsonCache {
+
+    static final int MAX_ENTRIES = 16;
+    static final long TIME_TO_LIVE_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final int STATISTICS_INTERVAL = 1000;
+
+    /**
+     * @param value the parsed JSON as unmodifiable maps and lists, strings, numbers, booleans and nulls
+     */
+    record Json(@Nullable Object value) {
+    }
+
+    // json is null if the source is not JSON, which is cached as well, as plain values are rendered just as often
+    private record Entry(@Nullable Json json, long expiresAt) {
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(JinjaJsonCache.class);
+    // thread-safe, as it is not reconfigured after creation
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LongSupplier clock;
+
+    private final Map<String, Entry> values = new LinkedHashMap<>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+    private long hitCount;
+    private long missCount;
+
+    JinjaJsonCache() {
+        this(System::nanoTime);
+    }
+
+    JinjaJsonCache(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * @return the parsed JSON, or null if the value is not JSON
+     */
+    @Nullable
+    Json get(String source) {
+        long now = clock.getAsLong();
+        synchronized (this) {
+            Entry entry = values.get(source);
+            if (entry != null && entry.expiresAt() - now > 0) {
+                hitCount++;
+                logStatistics();
+                return entry.json();
+            }
+        }
+        // parse outside the lock, so that different values can be parsed concurrently
+        Json json;
+        try {
+            json = new Json(toObject(objectMapper.readTree(source)));
+        } catch (IOException e) {
+            json = null;
+        }
+        synchronized (this) {
+            missCount++;
+            removeExpired(now);
+            values.put(source, new Entry(json, now + TIME_TO_LIVE_NANOS));
+            logStatistics();
+        }
+        return json;
+    }
+
+    private void removeExpired(long now) {
+        // keep the values referenced by the cache as short as possible
+        Iterator<Entry> iterator = values.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().expiresAt() - now <= 0) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private void logStatistics() {
+        if ((hitCount + missCount) % STATISTICS_INTERVAL == 0) {
+            logger.debug("Jinja JSON cache: {} entries, {} hits, {} misses, {}% hit rate", values.size(), hitCount,
+                    missCount, getHitRate());
+        }
+    }
+
+    synchronized int getSize() {
+        return values.size();
+    }
+
+    synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @return the percentage of lookups served from the cache
+     */
+    synchronized int getHitRate() {
+        long lookups = hitCount + missCount;
+        return lookups > 0 ? (int) (hitCount * 100 / lookups) : 0;
+    }
+
+    private static @Nullable Object toObject(JsonNode node) {
+        switch (node.getNodeType()) {
+            case ARRAY: {
+                List<@Nullable Object> result = new ArrayList<>();
+                for (JsonNode el : node) {
+                    result.add(toObject(el));
+                }
+                return Collections.unmodifiableList(result);
+            }
+            case NUMBER:
+                return node.decimalValue();
+            case OBJECT: {
+                Map<String, @Nullable Object> result = new HashMap<>();
+                Iterator<Map.Entry<String, JsonNode>> it = node.fields();
+                while (it.hasNext()) {
+                    Map.Entry<String, JsonNode> field = it.next();
+                    result.put(field.getKey(), toObject(field.getValue()));
+                }
+                return Collections.unmodifiableMap(result);
+            }
+            case STRING:
+                return node.asText();
+            case BOOLEAN:
+                return node.asBoolean();
+            case NULL:
+            default:
+                return null;
+        }
+    }
+}
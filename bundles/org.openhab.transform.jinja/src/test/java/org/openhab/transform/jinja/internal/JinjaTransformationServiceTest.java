@@ -14,6 +14,10 @@ package org.openhab.transform.jinja.internal;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.openhab.core.transform.TransformationException;
@@ -115,4 +119,69 @@ public class JinjaTransformationServiceTest {
         // then map key is defined
         assertEquals("true", transformedResponse);
     }
+
+    @Test
+    public void testParsedJsonIsShared() throws TransformationException {
+        String json = "{\"temperature\": 4.7, \"humidity\": 99.9}";
+        assertEquals("4.7", processor.transform("{{value_json.temperature}}", json));
+        assertEquals("99.9", processor.transform("{{value_json.humidity}}", json));
+        assertEquals("ON", processor.transform("{{value}}", "ON"));
+        assertEquals("ON", processor.transform("{{value}}", "ON"));
+
+        // Asserts
+        JinjaJsonCache jsonCache = processor.getJsonCache();
+        assertEquals(2, jsonCache.getSize());
+        assertEquals(2, jsonCache.getHitCount());
+        assertEquals(2, jsonCache.getMissCount());
+    }
+
+    @Test
+    public void testParsedJsonExpires() {
+        AtomicLong now = new AtomicLong();
+        JinjaJsonCache jsonCache = new JinjaJsonCache(now::get);
+
+        JinjaJsonCache.Json json = jsonCache.get("{\"temperature\": 4.7}");
+        assertSame(json, jsonCache.get("{\"temperature\": 4.7}"));
+        assertNull(jsonCache.get("ON"));
+        assertEquals(2, jsonCache.getMissCount());
+
+        now.addAndGet(JinjaJsonCache.TIME_TO_LIVE_NANOS);
+        assertNotSame(json, jsonCache.get("{\"temperature\": 4.7}"));
+        // the expired value was removed
+        assertEquals(1, jsonCache.getSize());
+    }
+
+    @Test
+    public void testParsedJsonKeepsNullsAndIsUnmodifiable() {
+        JinjaJsonCache jsonCache = new JinjaJsonCache();
+        JinjaJsonCache.Json json = jsonCache.get("{\"state\": null, \"list\": [1, null]}");
+
+        assertNotNull(json);
+        Map<?, ?> value = (Map<?, ?>) json.value();
+        assertNotNull(value);
+        assertTrue(value.containsKey("state"));
+        assertNull(value.get("state"));
+        List<?> list = (List<?>) value.get("list");
+        assertNotNull(list);
+        assertEquals(2, list.size());
+        assertNull(list.get(1));
+        assertThrows(UnsupportedOperationException.class, () -> value.clear());
+        assertThrows(UnsupportedOperationException.class, () -> list.clear());
+    }
+
+    @Test
+    public void testTemplateErrorIsReportedAgain() {
+        assertThrows(TransformationException.class,
+                () -> processor.transform("Hello {{{ value_json.string }}!", "{\"string\": \"world\"}"));
+        assertThrows(TransformationException.class,
+                () -> processor.transform("Hello {{{ value_json.string }}!", "{\"string\": \"world\"}"));
+    }
+
+    @Test
+    public void testMissingVariableErrorIsReportedAgain() {
+        assertThrows(TransformationException.class,
+                () -> processor.transform("Hello {{ missing }}!", "{\"string\": \"world\"}"));
+        assertThrows(TransformationException.class,
+                () -> processor.transform("Hello {{ missing }}!", "{\"string\": \"world\"}"));
+    }
 }
@@ -0,0 +1,137 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.jsonpath.internal;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the most recently used values computed from a key, like compiled expressions or parsed documents, optionally
+ * for a limited time only. The values are shared by all callers and must therefore be immutable.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class JSonPathCache<K, V> {
+
+    private static final int STATISTICS_INTERVAL = 1000;
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(JSonPathCache.class);
+    private final String name;
+    private final long timeToLiveNanos;
+    private final Function<K, V> loader;
+    private final LongSupplier clock;
+
+    private final Map<K, Entry<V>> entries;
+    private long hitCount;
+    private long missCount;
+
+    /**
+     * @param name the name used when logging the statistics
+     * @param maxEntries the maximum number of values kept
+     * @param timeToLiveNanos the time a value is kept, or 0 to keep it until it is evicted
+     * @param loader computes the value of a key, exceptions are passed on to the caller
+     */
+    JSonPathCache(String name, int maxEntries, long timeToLiveNanos, Function<K, V> loader) {
+        this(name, maxEntries, timeToLiveNanos, loader, System::nanoTime);
+    }
+
+    JSonPathCache(String name, int maxEntries, long timeToLiveNanos, Function<K, V> loader, LongSupplier clock) {
+        this.name = name;
+        this.timeToLiveNanos = timeToLiveNanos;
+        this.loader = loader;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    V get(K key) {
+        long now = clock.getAsLong();
+        synchronized (this) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && !isExpired(entry, now)) {
+                hitCount++;
+                logStatistics();
+                return entry.value();
+            }
+        }
+        // compute outside the lock, so that different keys can be computed concurrently
+        V value = loader.apply(key);
+        synchronized (this) {
+            missCount++;
+            removeExpired(now);
+            entries.put(key, new Entry<>(value, now + timeToLiveNanos));
+            logStatistics();
+        }
+        return value;
+    }
+
+    private boolean isExpired(Entry<V> entry, long now) {
+        return timeToLiveNanos > 0 && entry.expiresAt() - now <= 0;
+    }
+
+    private void removeExpired(long now) {
+        if (timeToLiveNanos > 0) {
+            // keep the keys referenced by the cache, e.g. large payloads, as short as possible
+            Iterator<Entry<V>> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                if (isExpired(iterator.next(), now)) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    private void logStatistics() {
+        if ((hitCount + missCount) % STATISTICS_INTERVAL == 0) {
+            logger.debug("{} cache: {} entries, {} hits, {} misses, {}% hit rate", name, entries.size(), hitCount,
+                    missCount, getHitRate());
+        }
+    }
+
+    synchronized int getSize() {
+        return entries.size();
+    }
+
+    synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @return the percentage of lookups served from the cache
+     */
+    synchronized int getHitRate() {
+        long lookups = hitCount + missCount;
+        return lookups > 0 ? (int) (hitCount * 100 / lookups) : 0;
+    }
+}
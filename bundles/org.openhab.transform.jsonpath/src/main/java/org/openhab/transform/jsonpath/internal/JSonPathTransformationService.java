@@ -13,6 +13,7 @@
 package org.openhab.transform.jsonpath.internal;
 
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -24,10 +25,12 @@ import org.osgi.service.component.annotations.Component;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.jayway.jsonpath.Configuration;
 import com.jayway.jsonpath.InvalidJsonException;
 import com.jayway.jsonpath.InvalidPathException;
 import com.jayway.jsonpath.JsonPath;
 import com.jayway.jsonpath.PathNotFoundException;
+import com.jayway.jsonpath.spi.json.JsonProvider;
 
 /**
  * <p>
@@ -43,6 +46,18 @@ public class JSonPathTransformationService implements TransformationService {
 
     private final Logger logger = LoggerFactory.getLogger(JSonPathTransformationService.class);
 
+    static final int MAX_CACHED_PATHS = 256;
+    static final int MAX_CACHED_DOCUMENTS = 16;
+    static final long DOCUMENT_TIME_TO_LIVE_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final JsonProvider jsonProvider = Configuration.defaultConfiguration().jsonProvider();
+    // compiled paths are immutable and can be shared
+    private final JSonPathCache<String, JsonPath> cache = new JSonPathCache<>("JSONPath", MAX_CACHED_PATHS, 0,
+            JsonPath::compile);
+    // parsed documents are only kept for a short time, so that a payload transformed by several channels is parsed once
+    private final JSonPathCache<String, Object> documentCache = new JSonPathCache<>("JSONPath document",
+            MAX_CACHED_DOCUMENTS, DOCUMENT_TIME_TO_LIVE_NANOS, jsonProvider::parse);
+
     /**
      * Transforms the input <code>source</code> by JSonPath expression.
      *
@@ -64,7 +79,9 @@ public class JSonPathTransformationService implements TransformationService {
             return null;
         }
         try {
-            Object transformationResult = JsonPath.read(source, jsonPathExpression);
+            // channels sharing a payload also share the parsed document
+            Object document = documentCache.get(source);
+            Object transformationResult = cache.get(jsonPathExpression).read(document);
             logger.debug("transformation resulted in '{}'", transformationResult);
             if (transformationResult == null) {
                 return null;
@@ -80,6 +97,14 @@ public class JSonPathTransformationService implements TransformationService {
         }
     }
 
+    JSonPathCache<String, JsonPath> getCache() {
+        return cache;
+    }
+
+    JSonPathCache<String, Object> getDocumentCache() {
+        return documentCache;
+    }
+
     private String flattenList(List<?> list) {
         if (list.size() == 1) {
             return list.get(0).toString();
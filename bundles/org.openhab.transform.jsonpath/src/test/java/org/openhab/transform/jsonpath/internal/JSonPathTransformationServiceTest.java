@@ -18,6 +18,9 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.openhab.core.transform.TransformationException;
 
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.JsonPath;
+
 /**
  * @author Gaël L'hopital - Initial contribution
  */
@@ -127,4 +130,68 @@ public class JSonPathTransformationServiceTest {
         String transformedResponse = processor.transform("$.data", json);
         assertEquals(list, transformedResponse);
     }
+
+    @Test
+    public void testCompiledPathIsReused() throws TransformationException {
+        assertEquals("bob", processor.transform("$[0].name", jsonArray));
+        assertEquals("alice", processor.transform("$[1].name", jsonArray));
+        assertEquals("bob", processor.transform("$[0].name", jsonArray));
+
+        JSonPathCache<String, JsonPath> cache = processor.getCache();
+        assertEquals(2, cache.getSize());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedPathIsEvicted() {
+        JSonPathCache<String, JsonPath> cache = new JSonPathCache<>("test",
+                JSonPathTransformationService.MAX_CACHED_PATHS, 0, JsonPath::compile);
+        for (int i = 0; i <= JSonPathTransformationService.MAX_CACHED_PATHS; i++) {
+            cache.get("$[" + i + "]");
+            // keep the first path in use
+            cache.get("$[0]");
+        }
+
+        assertEquals(JSonPathTransformationService.MAX_CACHED_PATHS, cache.getSize());
+        cache.get("$[0]");
+        cache.get("$[1]");
+        assertEquals(JSonPathTransformationService.MAX_CACHED_PATHS + 2, cache.getMissCount());
+    }
+
+    @Test
+    public void testPayloadIsParsedOnce() throws TransformationException {
+        // a copy of the payload, as each channel receives its own string
+        String sameArray = new String(jsonArray);
+
+        assertEquals("bob", processor.transform("$[0].name", jsonArray));
+        assertEquals("2", processor.transform("$[1].id", sameArray));
+        assertEquals("alice", processor.transform("$[1].name", jsonArray));
+
+        JSonPathCache<String, Object> documentCache = processor.getDocumentCache();
+        assertEquals(1, documentCache.getSize());
+        assertEquals(2, documentCache.getHitCount());
+        assertEquals(1, documentCache.getMissCount());
+        assertEquals(66, documentCache.getHitRate());
+    }
+
+    @Test
+    public void testParsedPayloadExpires() {
+        long[] now = { 0 };
+        JSonPathCache<String, Object> documentCache = new JSonPathCache<>("test", 16, 10,
+                Configuration.defaultConfiguration().jsonProvider()::parse, () -> now[0]);
+
+        Object document = documentCache.get(jsonArray);
+        now[0] += 9;
+        assertSame(document, documentCache.get(jsonArray));
+
+        now[0] += 1;
+        assertNotSame(document, documentCache.get(jsonArray));
+        assertEquals(2, documentCache.getMissCount());
+
+        // expired documents are removed when other payloads are parsed
+        now[0] += 10;
+        documentCache.get("{}");
+        assertEquals(1, documentCache.getSize());
+    }
 }
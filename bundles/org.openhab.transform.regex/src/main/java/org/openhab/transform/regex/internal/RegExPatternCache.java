@@ -0,0 +1,86 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.regex.internal;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the most recently used compiled {@link Pattern}s. They are immutable and can be shared.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class RegExPatternCache {
+
+    static final int MAX_ENTRIES = 256;
+    private static final int STATISTICS_INTERVAL = 1000;
+
+    private record Key(String regex, int flags) {
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(RegExPatternCache.class);
+
+    private final Map<Key, Pattern> patterns = new LinkedHashMap<>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Pattern> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+    private long hitCount;
+    private long missCount;
+
+    synchronized Pattern get(String regex, int flags) {
+        Key key = new Key(regex, flags);
+        Pattern pattern = patterns.get(key);
+        if (pattern != null) {
+            hitCount++;
+        } else {
+            missCount++;
+            pattern = Pattern.compile(regex, flags);
+            patterns.put(key, pattern);
+        }
+        if ((hitCount + missCount) % STATISTICS_INTERVAL == 0) {
+            logger.debug("RegEx cache: {} entries, {} hits, {} misses, {}% hit rate", patterns.size(), hitCount,
+                    missCount, getHitRate());
+        }
+        return pattern;
+    }
+
+    synchronized int getSize() {
+        return patterns.size();
+    }
+
+    synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @return the percentage of lookups served from the cache
+     */
+    synchronized int getHitRate() {
+        long lookups = hitCount + missCount;
+        return lookups > 0 ? (int) (hitCount * 100 / lookups) : 0;
+    }
+}
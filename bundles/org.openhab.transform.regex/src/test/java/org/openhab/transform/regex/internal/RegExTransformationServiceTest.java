@@ -75,4 +75,19 @@ public class RegExTransformationServiceTest extends AbstractTransformationServic
         // Asserts
         assertEquals("varX=12 varY=54 ", transformedResponse);
     }
+
+    @Test
+    public void testTransformByRegex_patternIsReused() throws TransformationException {
+        processor.transform(".*?<current_conditions>.*?<temp_c data=\"(.*?)\".*", source);
+        processor.transform("s/([A-Z]+)([0-9]+),*/var$1=$2 /g", "X12,Y54");
+        processor.transform(".*?<current_conditions>.*?<temp_c data=\"(.*?)\".*", source);
+        String transformedResponse = processor.transform("s/([A-Z]+)([0-9]+),*/var$1=$2 /g", "Z7");
+
+        // Asserts
+        assertEquals("varZ=7 ", transformedResponse);
+        RegExPatternCache cache = processor.getCache();
+        assertEquals(2, cache.getSize());
+        assertEquals(2, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+    }
 }
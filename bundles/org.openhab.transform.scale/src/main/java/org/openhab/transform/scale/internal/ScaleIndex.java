@@ -0,0 +1,129 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.scale.internal;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Index of the ranges of a scale, finding the label of a value with a binary search.
+ *
+ * The limits of all ranges split the number line into segments: the limits themselves and the open intervals between
+ * them. Each segment is either completely inside or completely outside of each range, so the label of the first
+ * matching range can be determined once per segment when the scale is loaded. This keeps the first match semantics
+ * of overlapping ranges.
+ *
+ * If the limits stay distinct when converted to <code>double</code>, values are looked up by their
+ * <code>double</code> value and only compared as {@link BigDecimal} if they hit a limit.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ScaleIndex {
+    private static final BigDecimal TWO = BigDecimal.valueOf(2);
+
+    // sorted, distinct limits of all ranges
+    private final BigDecimal[] limits;
+    private final double @Nullable [] doubleLimits;
+    // label of each segment: segment 2 * i is the interval below limits[i], segment 2 * i + 1 is limits[i] itself
+    private final @Nullable String[] labels;
+
+    /**
+     * Creates the index.
+     *
+     * @param ranges the ranges with their labels, in the order they are evaluated
+     */
+    public ScaleIndex(Map<Range, String> ranges) {
+        TreeSet<BigDecimal> distinctLimits = new TreeSet<>();
+        for (Range range : ranges.keySet()) {
+            if (range.min != null) {
+                distinctLimits.add(range.min);
+            }
+            if (range.max != null) {
+                distinctLimits.add(range.max);
+            }
+        }
+        limits = distinctLimits.toArray(new BigDecimal[0]);
+        doubleLimits = toDoubleLimits(limits);
+
+        labels = new @Nullable String[2 * limits.length + 1];
+        for (int segment = 0; segment < labels.length; segment++) {
+            BigDecimal value = representative(segment);
+            for (Map.Entry<Range, String> entry : ranges.entrySet()) {
+                if (entry.getKey().contains(value)) {
+                    labels[segment] = entry.getValue();
+                    break;
+                }
+            }
+        }
+    }
+
+    private static double @Nullable [] toDoubleLimits(BigDecimal[] limits) {
+        double[] doubleLimits = new double[limits.length];
+        for (int i = 0; i < limits.length; i++) {
+            doubleLimits[i] = limits[i].doubleValue();
+            if (Double.isInfinite(doubleLimits[i]) || (i > 0 && doubleLimits[i] <= doubleLimits[i - 1])) {
+                // limits too large or too close to each other
+                return null;
+            }
+        }
+        return doubleLimits;
+    }
+
+    /**
+     * @return a value inside the given segment
+     */
+    private BigDecimal representative(int segment) {
+        int i = segment / 2;
+        if (segment % 2 == 1) {
+            return limits[i];
+        } else if (limits.length == 0) {
+            return BigDecimal.ZERO;
+        } else if (i == 0) {
+            return limits[0].subtract(BigDecimal.ONE);
+        } else if (i == limits.length) {
+            return limits[i - 1].add(BigDecimal.ONE);
+        } else {
+            return limits[i - 1].add(limits[i]).divide(TWO);
+        }
+    }
+
+    /**
+     * Get the label of the first range containing the value.
+     *
+     * @param value the value
+     * @return the label or <code>null</code> if no range contains the value
+     */
+    public @Nullable String lookup(BigDecimal value) {
+        return labels[segmentOf(value)];
+    }
+
+    private int segmentOf(BigDecimal value) {
+        double[] doubleLimits = this.doubleLimits;
+        if (doubleLimits != null) {
+            // rounding to double keeps the order, so only a value rounded to a limit has to be compared exactly
+            int index = Arrays.binarySearch(doubleLimits, value.doubleValue());
+            if (index < 0) {
+                return 2 * (-index - 1);
+            }
+            return 2 * index + 1 + Integer.signum(value.compareTo(limits[index]));
+        }
+        int index = Arrays.binarySearch(limits, value);
+        return index < 0 ? 2 * (-index - 1) : 2 * index + 1;
+    }
+}
@@ -17,11 +17,14 @@ import static org.mockito.ArgumentMatchers.*;
 
 import java.io.File;
 import java.io.IOException;
+import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Random;
 
 import javax.measure.quantity.Dimensionless;
 
@@ -187,4 +190,48 @@ public class ScaleTransformServiceTest {
         String source = "200";
         assertThrows(TransformationException.class, () -> processor.transform(existingscale, source));
     }
+
+    @Test
+    public void testIndexMatchesFirstRangeAtLimits() {
+        // same ranges as evaluationorder.scale
+        Map<Range, String> ranges = new LinkedHashMap<>();
+        ranges.put(Range.lessThan(new BigDecimal(15)), "first");
+        ranges.put(Range.closedOpen(new BigDecimal(10), new BigDecimal(17)), "second");
+        ranges.put(Range.atLeast(new BigDecimal(15)), "last");
+        ScaleIndex index = new ScaleIndex(ranges);
+
+        assertEquals("first", index.lookup(new BigDecimal("-1E+400")));
+        assertEquals("first", index.lookup(new BigDecimal("14.999999999999999999999")));
+        assertEquals("second", index.lookup(new BigDecimal("15")));
+        assertEquals("second", index.lookup(new BigDecimal("15.000")));
+        assertEquals("second", index.lookup(new BigDecimal("16.999999999999999999999")));
+        assertEquals("last", index.lookup(new BigDecimal("17")));
+        assertEquals("last", index.lookup(new BigDecimal("1E+400")));
+    }
+
+    @Test
+    public void testIndexMatchesLinearScan() {
+        Random random = new Random(42);
+        // limits with one decimal can not be represented exactly as double, limits around 1E+17 are not even
+        // distinct as double and are looked up as BigDecimal
+        for (String[] limits : new String[][] { { "0", "1" }, { "0", "0.1" }, { "1E+17", "1" } }) {
+            BigDecimal base = new BigDecimal(limits[0]);
+            BigDecimal step = new BigDecimal(limits[1]);
+            Map<Range, String> ranges = new LinkedHashMap<>();
+            for (int i = 0; i < 200; i++) {
+                BigDecimal low = base.add(step.multiply(BigDecimal.valueOf(random.nextInt(100))));
+                BigDecimal high = low.add(step.multiply(BigDecimal.valueOf(random.nextInt(20))));
+                ranges.put(Range.range(random.nextInt(10) == 0 ? null : low, random.nextBoolean(),
+                        random.nextInt(10) == 0 ? null : high, random.nextBoolean()), "label" + i);
+            }
+            ScaleIndex index = new ScaleIndex(ranges);
+
+            for (int i = -10; i < 1300; i++) {
+                BigDecimal value = base.add(step.multiply(BigDecimal.valueOf(i)).divide(BigDecimal.TEN));
+                String expected = ranges.entrySet().stream().filter(entry -> entry.getKey().contains(value))
+                        .findFirst().map(Map.Entry::getValue).orElse(null);
+                assertEquals(expected, index.lookup(value), "value " + value);
+            }
+        }
+    }
 }
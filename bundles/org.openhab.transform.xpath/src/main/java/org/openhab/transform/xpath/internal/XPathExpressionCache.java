@@ -0,0 +1,95 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.xpath.internal;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the most recently used compiled {@link XPathExpression}s. Neither {@link XPath} nor compiled expressions are
+ * thread-safe, so each thread compiles and keeps its own.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class XPathExpressionCache {
+
+    static final int MAX_ENTRIES = 64;
+    private static final int STATISTICS_INTERVAL = 1000;
+
+    private final Logger logger = LoggerFactory.getLogger(XPathExpressionCache.class);
+
+    private final ThreadLocal<XPath> xpath = ThreadLocal.withInitial(() -> XPathFactory.newInstance().newXPath());
+    private final ThreadLocal<Map<String, XPathExpression>> expressions = ThreadLocal
+            .withInitial(() -> new LinkedHashMap<>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, XPathExpression> eldest) {
+                    return size() > MAX_ENTRIES;
+                }
+            });
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    XPathExpression get(String expression) throws XPathExpressionException {
+        Map<String, XPathExpression> compiledExpressions = expressions.get();
+        XPathExpression compiled = compiledExpressions.get(expression);
+        if (compiled != null) {
+            hitCount.incrementAndGet();
+        } else {
+            missCount.incrementAndGet();
+            compiled = xpath.get().compile(expression);
+            compiledExpressions.put(expression, compiled);
+        }
+        if ((hitCount.get() + missCount.get()) % STATISTICS_INTERVAL == 0) {
+            logger.debug("XPath cache: {} entries, {} hits, {} misses, {}% hit rate", compiledExpressions.size(),
+                    hitCount.get(), missCount.get(), getHitRate());
+        }
+        return compiled;
+    }
+
+    /**
+     * @return the number of expressions cached for the calling thread
+     */
+    int getSize() {
+        return expressions.get().size();
+    }
+
+    long getHitCount() {
+        return hitCount.get();
+    }
+
+    long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * @return the percentage of lookups served from the cache
+     */
+    int getHitRate() {
+        long hits = hitCount.get();
+        long lookups = hits + missCount.get();
+        return lookups > 0 ? (int) (hits * 100 / lookups) : 0;
+    }
+}
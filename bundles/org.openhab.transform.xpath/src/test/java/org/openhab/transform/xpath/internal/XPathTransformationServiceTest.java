@@ -38,4 +38,18 @@ public class XPathTransformationServiceTest extends AbstractTransformationServic
         // Asserts
         assertEquals("8", transformedResponse);
     }
+
+    @Test
+    public void testCompiledExpressionIsReused() throws TransformationException {
+        processor.transform("//current_conditions/temp_c/@data", source);
+        processor.transform("//current_conditions/temp_f/@data", source);
+        String transformedResponse = processor.transform("//current_conditions/temp_c/@data", source);
+
+        // Asserts
+        assertEquals("8", transformedResponse);
+        XPathExpressionCache cache = processor.getCache();
+        assertEquals(2, cache.getSize());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+    }
 }
@@ -0,0 +1,106 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.xslt.internal;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.xml.transform.Templates;
+import javax.xml.transform.TransformerConfigurationException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.stream.StreamSource;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the most recently used compiled stylesheets, until their file is modified. {@link Templates} are thread-safe.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class XsltTemplatesCache {
+
+    static final int MAX_ENTRIES = 64;
+    private static final int STATISTICS_INTERVAL = 1000;
+
+    private record Entry(Templates templates, long lastModified, long length) {
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(XsltTemplatesCache.class);
+    private final TransformerFactory transformerFactory = TransformerFactory.newInstance();
+
+    private final Map<File, Entry> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<File, Entry> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+    private long hitCount;
+    private long missCount;
+
+    Templates get(File file) throws TransformerConfigurationException {
+        long lastModified = file.lastModified();
+        long length = file.length();
+        synchronized (this) {
+            Entry entry = entries.get(file);
+            if (entry != null && entry.lastModified() == lastModified && entry.length() == length) {
+                hitCount++;
+                logStatistics();
+                return entry.templates();
+            }
+        }
+        Templates templates;
+        // factories are not guaranteed to be thread-safe
+        synchronized (transformerFactory) {
+            templates = transformerFactory.newTemplates(new StreamSource(file));
+        }
+        synchronized (this) {
+            missCount++;
+            entries.put(file, new Entry(templates, lastModified, length));
+            logStatistics();
+        }
+        return templates;
+    }
+
+    private void logStatistics() {
+        if ((hitCount + missCount) % STATISTICS_INTERVAL == 0) {
+            logger.debug("XSLT cache: {} entries, {} hits, {} misses, {}% hit rate", entries.size(), hitCount,
+                    missCount, getHitRate());
+        }
+    }
+
+    synchronized int getSize() {
+        return entries.size();
+    }
+
+    synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @return the percentage of lookups served from the cache
+     */
+    synchronized int getHitRate() {
+        long lookups = hitCount + missCount;
+        return lookups > 0 ? (int) (hitCount * 100 / lookups) : 0;
+    }
+}
@@ -38,4 +38,17 @@ public class XsltTransformationServiceTest extends AbstractTransformationService
         // Asserts
         assertEquals("8", transformedResponse);
     }
+
+    @Test
+    public void testCompiledStylesheetIsReused() throws TransformationException {
+        processor.transform("http/google_weather.xsl", source);
+        String transformedResponse = processor.transform("http/google_weather.xsl", source);
+
+        // Asserts
+        assertEquals("8", transformedResponse);
+        XsltTemplatesCache cache = processor.getCache();
+        assertEquals(1, cache.getSize());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
 }